@@ -1,11 +1,22 @@
 package com.dutch_computer_technology.JSONManager.data;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+import com.dutch_computer_technology.JSONManager.utils.JSONCache;
 import com.dutch_computer_technology.JSONManager.utils.JSONConfig;
 import com.dutch_computer_technology.JSONManager.utils.JSONParser;
+import com.dutch_computer_technology.JSONManager.utils.JSONReader;
 import com.dutch_computer_technology.JSONManager.utils.JSONStringify;
 
 /**
@@ -14,6 +25,8 @@ import com.dutch_computer_technology.JSONManager.utils.JSONStringify;
 public class JSONArray {
 	
 	private List<Object> data;
+	private volatile Function<Object, String> lazy; //Parses the members when given the data, see JSONLazy.
+	private volatile JSONCache cache;
 	
 	/**
 	 * Create a empty JSONArray.
@@ -25,20 +38,19 @@ public class JSONArray {
 	};
 	
 	/**
-	 * Create &amp; Parse a JSONArray from a Byte array.
+	 * Create &amp; Parse a JSONArray from a UTF-8 Byte array.
 	 * 
 	 * @param bytes Byte array to be parsed.
 	 * @throws JSONParseException When parsing fails.
 	 */
 	public JSONArray(byte[] bytes) throws JSONParseException {
 		
-		data = new ArrayList<Object>();
-		parse(new String(bytes));
+		this(bytes, null);
 		
 	};
 	
 	/**
-	 * Create &amp; Parse a JSONArray from a Byte array.
+	 * Create &amp; Parse a JSONArray from a UTF-8 Byte array.
 	 * 
 	 * @param bytes Byte array to be parsed.
 	 * @param config JSONConfig config for Parsing.
@@ -46,8 +58,37 @@ public class JSONArray {
 	 */
 	public JSONArray(byte[] bytes, JSONConfig config) throws JSONParseException {
 		
+		this(bytes, 0, bytes == null ? 0 : bytes.length, config);
+		
+	};
+	
+	/**
+	 * Create &amp; Parse a JSONArray from a part of a UTF-8 Byte array.
+	 * 
+	 * @param bytes Byte array to be parsed.
+	 * @param offset Position of the first byte.
+	 * @param length Ammount of bytes.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONArray(byte[] bytes, int offset, int length) throws JSONParseException {
+		
+		this(bytes, offset, length, null);
+		
+	};
+	
+	/**
+	 * Create &amp; Parse a JSONArray from a part of a UTF-8 Byte array.
+	 * 
+	 * @param bytes Byte array to be parsed.
+	 * @param offset Position of the first byte.
+	 * @param length Ammount of bytes.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONArray(byte[] bytes, int offset, int length, JSONConfig config) throws JSONParseException {
+		
 		data = new ArrayList<Object>();
-		parse(new String(bytes));
+		new JSONParser(data, bytes, offset, length, config);
 		
 	};
 	
@@ -74,7 +115,86 @@ public class JSONArray {
 	public JSONArray(String str, JSONConfig config) throws JSONParseException {
 		
 		data = new ArrayList<Object>();
-		parse(str);
+		parse(str, config);
+		
+	};
+	
+	/**
+	 * Create &amp; Read a JSONArray from a Reader,<br>
+	 * the Reader is read until the end but not closed.
+	 * 
+	 * @param reader Reader to be read.
+	 * @throws JSONParseException When parsing fails.
+	 * @throws IOException When reading fails.
+	 */
+	public JSONArray(Reader reader) throws JSONParseException, IOException {
+		
+		JSONReader json = new JSONReader(reader);
+		data = json.readArray().data;
+		json.endDocument();
+		
+	};
+	
+	/**
+	 * Create &amp; Read a JSONArray from a UTF-8 InputStream,<br>
+	 * the InputStream is read until the end but not closed.
+	 * 
+	 * @param in InputStream to be read.
+	 * @throws JSONParseException When parsing fails.
+	 * @throws IOException When reading fails.
+	 */
+	public JSONArray(InputStream in) throws JSONParseException, IOException {
+		
+		JSONReader json = new JSONReader(in);
+		data = json.readArray().data;
+		json.endDocument();
+		
+	};
+	
+	/**
+	 * Read a JSONArray from a UTF-8 file,<br>
+	 * the file is memory-mapped instead of loaded into the heap.
+	 * 
+	 * @param path File to be read.
+	 * @return The read JSONArray.
+	 * @throws JSONParseException When parsing fails.
+	 * @throws IOException When reading the file fails.
+	 */
+	public static JSONArray read(Path path) throws JSONParseException, IOException {
+		
+		return read(path, null);
+		
+	};
+	
+	/**
+	 * Read a JSONArray from a UTF-8 file,<br>
+	 * the file is memory-mapped instead of loaded into the heap.<br>
+	 * Files over 2 GB are read as a stream, only the maxDepth of the config is used for them.
+	 * 
+	 * @param path File to be read.
+	 * @param config JSONConfig config for Parsing.
+	 * @return The read JSONArray.
+	 * @throws JSONParseException When parsing fails.
+	 * @throws IOException When reading the file fails.
+	 */
+	public static JSONArray read(Path path, JSONConfig config) throws JSONParseException, IOException {
+		
+		JSONArray json = new JSONArray();
+		JSONParser.read(json.data, path, config);
+		return json;
+		
+	};
+	
+	/**
+	 * Create a JSONArray parsed on first use, called by the parser through reflection,<br>
+	 * see {@link JSONConfig#lazy()}.
+	 * 
+	 * @param lazy Parser of the members.
+	 */
+	private JSONArray(Function<Object, String> lazy) {
+		
+		data = new ArrayList<Object>();
+		this.lazy = lazy;
 		
 	};
 	
@@ -85,7 +205,7 @@ public class JSONArray {
 	 */
 	public JSONArray(JSONArray json) {
 		
-		data = new ArrayList<Object>(json.data);
+		data = new ArrayList<Object>(json.data());
 		
 	};
 	
@@ -108,7 +228,57 @@ public class JSONArray {
 	 */
 	public void parse(String str) throws JSONParseException {
 		
-		new JSONParser(data, str, null);
+		parse(str, null);
+		
+	};
+	
+	/**
+	 * Parse a String to a JSONArray.
+	 * 
+	 * @param str String to be parsed.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public void parse(String str, JSONConfig config) throws JSONParseException {
+		
+		new JSONParser(data(), str, config);
+		changed(null);
+		
+	};
+	
+	/**
+	 * Check if the elements are parsed,<br>
+	 * {@code false} for a lazy JSONArray not used yet.
+	 * 
+	 * @return {@code true} When parsed.
+	 */
+	public boolean isParsed() {
+		
+		return lazy == null;
+		
+	};
+	
+	private List<Object> data() {
+		
+		if (lazy != null) load();
+		return data;
+		
+	};
+	
+	private void changed(Object removed) {
+		
+		JSONCache cache = this.cache;
+		if (cache != null) cache.changed(removed);
+		
+	};
+	
+	private synchronized void load() {
+		
+		Function<Object, String> lazy = this.lazy;
+		if (lazy == null) return; //Loaded by another Thread.
+		lazy.apply(data);
+		this.lazy = null;
+		changed(null); //The original text is no longer copied.
 		
 	};
 	
@@ -144,7 +314,42 @@ public class JSONArray {
 	 */
 	public String _stringify(JSONConfig config, int myTabs) {
 		
-		return JSONStringify.Stringify(data, config, myTabs);
+		Function<Object, String> lazy = this.lazy;
+		String text = lazy == null ? null : lazy.apply(config);
+		if (text != null) return text; //Not used yet, copy the original.
+		return JSONStringify.Stringify(this, config, myTabs);
+		
+	};
+	
+	/**
+	 * Get the members for Stringifying, used by JSONStringify.
+	 * 
+	 * @param config JSONConfig config for Stringifying.
+	 * @return The original String when not used yet &amp; it can be copied, otherwise the members.
+	 */
+	public Object _members(JSONConfig config) {
+		
+		Function<Object, String> lazy = this.lazy;
+		String text = lazy == null ? null : lazy.apply(config);
+		if (text != null) return text; //Not used yet, copy the original.
+		return Collections.unmodifiableList(data());
+		
+	};
+	
+	/**
+	 * Get the JSONCache for Stringifying, used by JSONStringify.
+	 * 
+	 * @param create Create it when there is none yet.
+	 * @return The JSONCache, or {@code null}.
+	 */
+	public JSONCache _cache(boolean create) {
+		
+		JSONCache cache = this.cache;
+		if (cache != null || !create) return cache;
+		synchronized (this) {
+			if (this.cache == null) this.cache = new JSONCache();
+			return this.cache;
+		}
 		
 	};
 	
@@ -175,6 +380,114 @@ public class JSONArray {
 		
 	};
 	
+	/**
+	 * Write the stringified JSON to a Appendable, like a Writer or StringBuilder,<br>
+	 * without creating a String first.
+	 * 
+	 * @param out Appendable to write to.
+	 * @throws IOException When writing fails.
+	 */
+	public void write(Appendable out) throws IOException {
+		
+		write(out, null);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a Appendable, like a Writer or StringBuilder,<br>
+	 * without creating a String first.
+	 * 
+	 * @param out Appendable to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 */
+	public void write(Appendable out, JSONConfig config) throws IOException {
+		
+		JSONStringify.write(this, out, config);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a OutputStream as UTF-8,<br>
+	 * encoded in chunks without creating a String, the OutputStream is not flushed.
+	 * 
+	 * @param out OutputStream to write to.
+	 * @throws IOException When writing fails.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		
+		writeTo(out, null);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a OutputStream as UTF-8,<br>
+	 * encoded in chunks without creating a String, the OutputStream is not flushed.
+	 * 
+	 * @param out OutputStream to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 */
+	public void writeTo(OutputStream out, JSONConfig config) throws IOException {
+		
+		JSONStringify.writeTo(this, out, config);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a blocking WritableByteChannel as UTF-8,<br>
+	 * encoded in chunks without creating a String.
+	 * 
+	 * @param channel WritableByteChannel to write to.
+	 * @throws IOException When writing fails.
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		
+		writeTo(channel, null);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a blocking WritableByteChannel as UTF-8,<br>
+	 * encoded in chunks without creating a String.
+	 * 
+	 * @param channel WritableByteChannel to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 */
+	public void writeTo(WritableByteChannel channel, JSONConfig config) throws IOException {
+		
+		JSONStringify.writeTo(this, channel, config);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a ByteBuffer as UTF-8,<br>
+	 * from it's position without creating a String.
+	 * 
+	 * @param buffer ByteBuffer to write to.
+	 * @throws java.nio.BufferOverflowException When the ByteBuffer is too small.
+	 */
+	public void writeTo(ByteBuffer buffer) {
+		
+		writeTo(buffer, null);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a ByteBuffer as UTF-8,<br>
+	 * from it's position without creating a String.
+	 * 
+	 * @param buffer ByteBuffer to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws java.nio.BufferOverflowException When the ByteBuffer is too small.
+	 */
+	public void writeTo(ByteBuffer buffer, JSONConfig config) {
+		
+		JSONStringify.writeTo(this, buffer, config);
+		
+	};
+	
 	/**
 	 * Create a byte array from JSON,<br>
 	 * ignores beautify rules.
@@ -190,14 +503,14 @@ public class JSONArray {
 	};
 	
 	/**
-	 * Create a byte array from JSON.
+	 * Create a UTF-8 byte array from JSON.
 	 * 
 	 * @param config JSONConfig config for Stringifying.
 	 * @return Returns a stringified JSON byte array.
 	 */
 	public byte[] toBytes(JSONConfig config) {
 		
-		return stringify(config).getBytes();
+		return JSONStringify.toBytes(this, config);
 		
 	};
 	
@@ -208,7 +521,7 @@ public class JSONArray {
 	 * @return {@code true} if key found, {@code false} if nothing found.
 	 */
 	public boolean contains(Object key) {
-		return data.contains(key);
+		return data().contains(key);
 	};
 	
 	/**
@@ -232,11 +545,12 @@ public class JSONArray {
 	 */
 	public void add(Object value, int i) {
 		if (i > -1) {
-			if (i > data.size()) i = data.size();
-			data.add(i, value);
-			return;
+			if (i > data().size()) i = data().size();
+			data().add(i, value);
+		} else {
+			data().add(value);
 		};
-		data.add(value);
+		changed(null);
 	};
 	
 	/**
@@ -260,13 +574,14 @@ public class JSONArray {
 	 * @param i Position of Object, must be greater or equal to 0.
 	 */
 	public void addWhenAbsent(Object value, int i) {
-		if (data.contains(value)) return;
+		if (data().contains(value)) return;
 		if (i > -1) {
-			if (i > data.size()) i = data.size();
-			data.add(i, value);
-			return;
+			if (i > data().size()) i = data().size();
+			data().add(i, value);
+		} else {
+			data().add(value);
 		};
-		data.add(value);
+		changed(null);
 	};
 	
 	/**
@@ -293,8 +608,8 @@ public class JSONArray {
 	 * @param i Position of Object.
 	 */
 	public void remove(int i) {
-		if (i < 0 || i >= data.size()) return;
-		data.remove(i);
+		if (i < 0 || i >= data().size()) return;
+		changed(data().remove(i));
 	};
 	
 	/**
@@ -303,7 +618,7 @@ public class JSONArray {
 	 * @param value Object to be removed.
 	 */
 	public void remove(Object value) {
-		data.remove(value);
+		if (data().remove(value)) changed(value);
 	};
 	
 	/**
@@ -312,7 +627,7 @@ public class JSONArray {
 	 * @return Size/Ammount of Object's/keys.
 	 */
 	public int size() {
-		return data.size();
+		return data().size();
 	};
 	
 	/**
@@ -321,7 +636,7 @@ public class JSONArray {
 	 * @return A new List of Object's inside of the JSONArray.
 	 */
 	public List<Object> objs() {
-		return new ArrayList<Object>(data);
+		return new ArrayList<Object>(data());
 	};
 	
 	/**
@@ -330,7 +645,7 @@ public class JSONArray {
 	 * @return A new List of Object's inside of the JSONArray.
 	 */
 	public List<Object> getObjects() {
-		return new ArrayList<Object>(data);
+		return new ArrayList<Object>(data());
 	};
 	
 	/**
@@ -346,9 +661,9 @@ public class JSONArray {
 		if (cls == null) return null;
 		
 		List<T> objs = new ArrayList<>();
-		if (data.isEmpty()) return objs;
+		if (data().isEmpty()) return objs;
 		
-		for (Object oValue : data) {
+		for (Object oValue : data()) {
 			
 			if (oValue == null) continue;
 			if (cls.isInstance(oValue)) {
@@ -469,8 +784,8 @@ public class JSONArray {
 	 * @return {@code def} when out of bounds or not found, {@code cls} Object when found.
 	 */
 	public Object get(int i, Object def, Class<?> cls) {
-		if (i < 0 || i > data.size()) return def;
-		Object oValue = data.get(i);
+		if (i < 0 || i > data().size()) return def;
+		Object oValue = data().get(i);
 		if (oValue == null) return def;
 		if (cls == null) return oValue;
 		if (cls.isInstance(oValue)) return oValue;
@@ -487,9 +802,9 @@ public class JSONArray {
 	 * @return {@code false} when out of bounds or not the given Class, {@code true} when the given Class.
 	 */
 	public boolean isValue(int i, Class<?> cls) {
-		if (i < 0 || i > data.size()) return false;
+		if (i < 0 || i > data().size()) return false;
 		if (cls == null) return false;
-		Object oValue = data.get(i);
+		Object oValue = data().get(i);
 		if (oValue == null) return false;
 		return cls.isInstance(oValue);
 	};
@@ -1,15 +1,26 @@
 package com.dutch_computer_technology.JSONManager.data;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+import com.dutch_computer_technology.JSONManager.utils.JSONCache;
 import com.dutch_computer_technology.JSONManager.utils.JSONConfig;
 import com.dutch_computer_technology.JSONManager.utils.JSONParser;
+import com.dutch_computer_technology.JSONManager.utils.JSONReader;
 import com.dutch_computer_technology.JSONManager.utils.JSONStringify;
 
 /**
@@ -18,6 +29,8 @@ import com.dutch_computer_technology.JSONManager.utils.JSONStringify;
 public class JSONObject {
 	
 	private Map<String, Object> data;
+	private volatile Function<Object, String> lazy; //Parses the members when given the data, see JSONLazy.
+	private volatile JSONCache cache;
 	
 	/**
 	 * Create a empty JSONObject.
@@ -29,20 +42,19 @@ public class JSONObject {
 	};
 	
 	/**
-	 * Create &amp; Parse a JSONObject from a Byte array.
+	 * Create &amp; Parse a JSONObject from a UTF-8 Byte array.
 	 * 
 	 * @param bytes Byte array to be parsed.
 	 * @throws JSONParseException When parsing fails.
 	 */
 	public JSONObject(byte[] bytes) throws JSONParseException {
 		
-		data = new HashMap<String, Object>();
-		parse(new String(bytes));
+		this(bytes, null);
 		
 	};
 	
 	/**
-	 * Create &amp; Parse a JSONObject from a Byte array.
+	 * Create &amp; Parse a JSONObject from a UTF-8 Byte array.
 	 * 
 	 * @param bytes Byte array to be parsed.
 	 * @param config JSONConfig config for Parsing.
@@ -50,8 +62,37 @@ public class JSONObject {
 	 */
 	public JSONObject(byte[] bytes, JSONConfig config) throws JSONParseException {
 		
+		this(bytes, 0, bytes == null ? 0 : bytes.length, config);
+		
+	};
+	
+	/**
+	 * Create &amp; Parse a JSONObject from a part of a UTF-8 Byte array.
+	 * 
+	 * @param bytes Byte array to be parsed.
+	 * @param offset Position of the first byte.
+	 * @param length Ammount of bytes.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONObject(byte[] bytes, int offset, int length) throws JSONParseException {
+		
+		this(bytes, offset, length, null);
+		
+	};
+	
+	/**
+	 * Create &amp; Parse a JSONObject from a part of a UTF-8 Byte array.
+	 * 
+	 * @param bytes Byte array to be parsed.
+	 * @param offset Position of the first byte.
+	 * @param length Ammount of bytes.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONObject(byte[] bytes, int offset, int length, JSONConfig config) throws JSONParseException {
+		
 		data = new HashMap<String, Object>();
-		parse(new String(bytes), config);
+		new JSONParser(data, bytes, offset, length, config);
 		
 	};
 	
@@ -82,6 +123,85 @@ public class JSONObject {
 		
 	};
 	
+	/**
+	 * Create &amp; Read a JSONObject from a Reader,<br>
+	 * the Reader is read until the end but not closed.
+	 * 
+	 * @param reader Reader to be read.
+	 * @throws JSONParseException When parsing fails.
+	 * @throws IOException When reading fails.
+	 */
+	public JSONObject(Reader reader) throws JSONParseException, IOException {
+		
+		JSONReader json = new JSONReader(reader);
+		data = json.readObject().data;
+		json.endDocument();
+		
+	};
+	
+	/**
+	 * Create &amp; Read a JSONObject from a UTF-8 InputStream,<br>
+	 * the InputStream is read until the end but not closed.
+	 * 
+	 * @param in InputStream to be read.
+	 * @throws JSONParseException When parsing fails.
+	 * @throws IOException When reading fails.
+	 */
+	public JSONObject(InputStream in) throws JSONParseException, IOException {
+		
+		JSONReader json = new JSONReader(in);
+		data = json.readObject().data;
+		json.endDocument();
+		
+	};
+	
+	/**
+	 * Read a JSONObject from a UTF-8 file,<br>
+	 * the file is memory-mapped instead of loaded into the heap.
+	 * 
+	 * @param path File to be read.
+	 * @return The read JSONObject.
+	 * @throws JSONParseException When parsing fails.
+	 * @throws IOException When reading the file fails.
+	 */
+	public static JSONObject read(Path path) throws JSONParseException, IOException {
+		
+		return read(path, null);
+		
+	};
+	
+	/**
+	 * Read a JSONObject from a UTF-8 file,<br>
+	 * the file is memory-mapped instead of loaded into the heap.<br>
+	 * Files over 2 GB are read as a stream, only the maxDepth of the config is used for them.
+	 * 
+	 * @param path File to be read.
+	 * @param config JSONConfig config for Parsing.
+	 * @return The read JSONObject.
+	 * @throws JSONParseException When parsing fails.
+	 * @throws IOException When reading the file fails.
+	 */
+	public static JSONObject read(Path path, JSONConfig config) throws JSONParseException, IOException {
+		
+		JSONObject json = new JSONObject();
+		JSONParser.read(json.data, path, config);
+		return json;
+		
+	};
+	
+	/**
+	 * Create a JSONObject parsed on first use, called by the parser through reflection,<br>
+	 * see {@link JSONConfig#lazy()}.
+	 * 
+	 * @param lazy Parser of the members.
+	 */
+	private JSONObject(Function<Object, String> lazy) {
+		
+		data = new HashMap<String, Object>();
+		this.lazy = lazy;
+		
+	};
+	
 	/**
 	 * Create &amp; Copy a JSONObject from a JSONObject.
 	 * 
@@ -89,7 +209,7 @@ public class JSONObject {
 	 */
 	public JSONObject(JSONObject json) {
 		
-		data = new HashMap<String, Object>(json.data);
+		data = new HashMap<String, Object>(json.data());
 		
 	};
 	
@@ -125,7 +245,44 @@ public class JSONObject {
 	 */
 	public void parse(String str, JSONConfig config) throws JSONParseException {
 		
-		new JSONParser(data, str, config);
+		new JSONParser(data(), str, config);
+		changed(null);
+		
+	};
+	
+	/**
+	 * Check if the members are parsed,<br>
+	 * {@code false} for a lazy JSONObject not used yet.
+	 * 
+	 * @return {@code true} When parsed.
+	 */
+	public boolean isParsed() {
+		
+		return lazy == null;
+		
+	};
+	
+	private Map<String, Object> data() {
+		
+		if (lazy != null) load();
+		return data;
+		
+	};
+	
+	private void changed(Object removed) {
+		
+		JSONCache cache = this.cache;
+		if (cache != null) cache.changed(removed);
+		
+	};
+	
+	private synchronized void load() {
+		
+		Function<Object, String> lazy = this.lazy;
+		if (lazy == null) return; //Loaded by another Thread.
+		lazy.apply(data);
+		this.lazy = null;
+		changed(null); //The original text is no longer copied.
 		
 	};
 	
@@ -161,7 +318,42 @@ public class JSONObject {
 	 */
 	public String _stringify(JSONConfig config, int myTabs) {
 		
-		return JSONStringify.Stringify(data, config, myTabs);
+		Function<Object, String> lazy = this.lazy;
+		String text = lazy == null ? null : lazy.apply(config);
+		if (text != null) return text; //Not used yet, copy the original.
+		return JSONStringify.Stringify(this, config, myTabs);
+		
+	};
+	
+	/**
+	 * Get the members for Stringifying, used by JSONStringify.
+	 * 
+	 * @param config JSONConfig config for Stringifying.
+	 * @return The original String when not used yet &amp; it can be copied, otherwise the members.
+	 */
+	public Object _members(JSONConfig config) {
+		
+		Function<Object, String> lazy = this.lazy;
+		String text = lazy == null ? null : lazy.apply(config);
+		if (text != null) return text; //Not used yet, copy the original.
+		return Collections.unmodifiableMap(data());
+		
+	};
+	
+	/**
+	 * Get the JSONCache for Stringifying, used by JSONStringify.
+	 * 
+	 * @param create Create it when there is none yet.
+	 * @return The JSONCache, or {@code null}.
+	 */
+	public JSONCache _cache(boolean create) {
+		
+		JSONCache cache = this.cache;
+		if (cache != null || !create) return cache;
+		synchronized (this) {
+			if (this.cache == null) this.cache = new JSONCache();
+			return this.cache;
+		}
 		
 	};
 	
@@ -192,6 +384,114 @@ public class JSONObject {
 		
 	};
 	
+	/**
+	 * Write the stringified JSON to a Appendable, like a Writer or StringBuilder,<br>
+	 * without creating a String first.
+	 * 
+	 * @param out Appendable to write to.
+	 * @throws IOException When writing fails.
+	 */
+	public void write(Appendable out) throws IOException {
+		
+		write(out, null);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a Appendable, like a Writer or StringBuilder,<br>
+	 * without creating a String first.
+	 * 
+	 * @param out Appendable to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 */
+	public void write(Appendable out, JSONConfig config) throws IOException {
+		
+		JSONStringify.write(this, out, config);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a OutputStream as UTF-8,<br>
+	 * encoded in chunks without creating a String, the OutputStream is not flushed.
+	 * 
+	 * @param out OutputStream to write to.
+	 * @throws IOException When writing fails.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		
+		writeTo(out, null);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a OutputStream as UTF-8,<br>
+	 * encoded in chunks without creating a String, the OutputStream is not flushed.
+	 * 
+	 * @param out OutputStream to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 */
+	public void writeTo(OutputStream out, JSONConfig config) throws IOException {
+		
+		JSONStringify.writeTo(this, out, config);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a blocking WritableByteChannel as UTF-8,<br>
+	 * encoded in chunks without creating a String.
+	 * 
+	 * @param channel WritableByteChannel to write to.
+	 * @throws IOException When writing fails.
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		
+		writeTo(channel, null);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a blocking WritableByteChannel as UTF-8,<br>
+	 * encoded in chunks without creating a String.
+	 * 
+	 * @param channel WritableByteChannel to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 */
+	public void writeTo(WritableByteChannel channel, JSONConfig config) throws IOException {
+		
+		JSONStringify.writeTo(this, channel, config);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a ByteBuffer as UTF-8,<br>
+	 * from it's position without creating a String.
+	 * 
+	 * @param buffer ByteBuffer to write to.
+	 * @throws java.nio.BufferOverflowException When the ByteBuffer is too small.
+	 */
+	public void writeTo(ByteBuffer buffer) {
+		
+		writeTo(buffer, null);
+		
+	};
+	
+	/**
+	 * Write the stringified JSON to a ByteBuffer as UTF-8,<br>
+	 * from it's position without creating a String.
+	 * 
+	 * @param buffer ByteBuffer to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws java.nio.BufferOverflowException When the ByteBuffer is too small.
+	 */
+	public void writeTo(ByteBuffer buffer, JSONConfig config) {
+		
+		JSONStringify.writeTo(this, buffer, config);
+		
+	};
+	
 	/**
 	 * Create a byte array from JSON,<br>
 	 * ignores beautify rules.
@@ -207,14 +507,14 @@ public class JSONObject {
 	};
 	
 	/**
-	 * Create a byte array from JSON.
+	 * Create a UTF-8 byte array from JSON.
 	 * 
 	 * @param config JSONConfig config for Stringifying.
 	 * @return Returns a stringified JSON byte array.
 	 */
 	public byte[] toBytes(JSONConfig config) {
 		
-		return stringify(config).getBytes();
+		return JSONStringify.toBytes(this, config);
 		
 	};
 	
@@ -236,7 +536,7 @@ public class JSONObject {
 	 */
 	public boolean contains(String key) {
 		if (key == null) return false;
-		return data.containsKey(key);
+		return data().containsKey(key);
 	};
 	
 	/**
@@ -246,7 +546,7 @@ public class JSONObject {
 	 * @return {@code true} if value found, {@code false} if nothing found.
 	 */
 	public boolean hasValue(Object value) {
-		return data.containsValue(value);
+		return data().containsValue(value);
 	};
 	
 	/**
@@ -255,7 +555,7 @@ public class JSONObject {
 	 * @return All the key's inside the JSONObject.
 	 */
 	public Set<String> keySet() {
-		return new HashSet<String>(data.keySet());
+		return new HashSet<String>(data().keySet());
 	};
 	
 	/**
@@ -264,7 +564,7 @@ public class JSONObject {
 	 * @return All the values inside the JSONObject.
 	 */
 	public List<Object> values() {
-		return new ArrayList<Object>(data.values());
+		return new ArrayList<Object>(data().values());
 	};
 	
 	/**
@@ -273,7 +573,7 @@ public class JSONObject {
 	 * @return Total Keys inside the JSONObject.
 	 */
 	public int size() {
-		return data.keySet().size();
+		return data().keySet().size();
 	};
 	
 	/**
@@ -284,7 +584,7 @@ public class JSONObject {
 	 */
 	public void put(String key, Object value) {
 		if (key == null) return;
-		data.put(key, value);
+		changed(data().put(key, value));
 	};
 	
 	/**
@@ -296,8 +596,9 @@ public class JSONObject {
 	 */
 	public void putWhenAbsent(String key, Object value) {
 		if (key == null) return;
-		if (data.containsKey(key)) return;
-		data.put(key, value);
+		if (data().containsKey(key)) return;
+		data().put(key, value);
+		changed(null);
 	};
 	
 	/**
@@ -316,7 +617,7 @@ public class JSONObject {
 	 */
 	public void remove(String key) {
 		if (key == null) return;
-		if (data.containsKey(key)) data.remove(key);
+		if (data().containsKey(key)) changed(data().remove(key));
 	};
 	
 	/**
@@ -350,7 +651,7 @@ public class JSONObject {
 	 */
 	public Object get(String key, Object def, Class<?> cls) {
 		if (key == null) return def;
-		Object oValue = data.get(key);
+		Object oValue = data().get(key);
 		if (oValue == null) return def;
 		if (cls == null) return oValue;
 		if (cls.isInstance(oValue)) return oValue;
@@ -367,7 +668,7 @@ public class JSONObject {
 	public boolean isValue(String key, Class<?> cls) {
 		if (key == null) return false;
 		if (cls == null) return false;
-		Object oValue = data.get(key);
+		Object oValue = data().get(key);
 		if (oValue == null) return false;
 		return cls.isInstance(oValue);
 	};
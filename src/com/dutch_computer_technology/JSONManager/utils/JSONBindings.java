@@ -0,0 +1,195 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.dutch_computer_technology.JSONManager.data.JSONObject;
+
+/**
+ * Bindings of custom classes,<br>
+ * the constructor taking a JSONObject used for __class &amp; the toJSON() method used when stringified.<br>
+ * <br>
+ * Each class is looked up once, the found MethodHandles are cached,<br>
+ * so are classes without them &amp; unknown class names.<br>
+ * When restricted only registered classes are created from a __class.
+ */
+public final class JSONBindings {
+	
+	private static final int MAX_NAMES = 4096; //Cached class names, cleared when full.
+	private static final Class<?> UNKNOWN = Void.class; //Cached for class names not found.
+	
+	private static final Map<String, Class<?>> NAMES = new ConcurrentHashMap<String, Class<?>>();
+	private static final Map<String, Class<?>> REGISTERED = new ConcurrentHashMap<String, Class<?>>();
+	private static volatile boolean restricted = false;
+	
+	private static final ClassValue<Binding> BINDINGS = new ClassValue<Binding>() {
+		@Override
+		protected Binding computeValue(Class<?> cls) {
+			return new Binding(cls);
+		};
+	};
+	
+	private JSONBindings() {};
+	
+	/**
+	 * Register a class that may be created from a __class,<br>
+	 * needed when restricted.
+	 * 
+	 * @param cls The class, with a public constructor taking a JSONObject.
+	 */
+	public static void register(Class<?> cls) {
+		
+		if (cls == null) return;
+		REGISTERED.put(cls.getName(), cls);
+		
+	};
+	
+	/**
+	 * Unregister a class.
+	 * 
+	 * @param cls The class.
+	 */
+	public static void unregister(Class<?> cls) {
+		
+		if (cls == null) return;
+		REGISTERED.remove(cls.getName(), cls);
+		
+	};
+	
+	/**
+	 * Check if a class is registered.
+	 * 
+	 * @param cls The class.
+	 * @return {@code true} When registered.
+	 */
+	public static boolean registered(Class<?> cls) {
+		
+		return cls != null && REGISTERED.get(cls.getName()) == cls;
+		
+	};
+	
+	/**
+	 * Only create registered classes from a __class,<br>
+	 * other JSONObject's stay a JSONObject.
+	 * 
+	 * @param restricted {@code true}/{@code false}
+	 */
+	public static void restricted(boolean restricted) {
+		
+		JSONBindings.restricted = restricted;
+		
+	};
+	
+	/**
+	 * Only create registered classes from a __class
+	 * 
+	 * @return {@code true} When restricted, {@code false} When any class with the constructor is created.
+	 */
+	public static boolean restricted() {
+		
+		return restricted;
+		
+	};
+	
+	/**
+	 * Create a custom class when the JSONObject has a __class.
+	 * 
+	 * @param json The parsed JSONObject.
+	 * @return Returns the custom class, or the JSONObject when not possible.
+	 */
+	static Object construct(JSONObject json) {
+		
+		if (!json.isString("__class")) return json; //Check if __class exists & is a string.
+		
+		Class<?> cls = find(json.getString("__class"));
+		if (cls == null) return json; //No class or not allowed, return json.
+		
+		MethodHandle constructor = BINDINGS.get(cls).constructor;
+		if (constructor == null) return json; //No constructor, return json.
+		
+		try {
+			return (Object) constructor.invokeExact(json);
+		} catch (Error e) {
+			throw e; //Out of memory & the like, not a failed constructor.
+		} catch (Throwable ignore) {}; //Failed constructor, return json.
+		
+		return json;
+		
+	};
+	
+	/**
+	 * Get the toJSON() method of a class.
+	 * 
+	 * @param cls The class.
+	 * @return The MethodHandle taking the Object, {@code null} When the class has no toJSON().
+	 */
+	static MethodHandle toJSON(Class<?> cls) {
+		
+		return BINDINGS.get(cls).toJSON;
+		
+	};
+	
+	/**
+	 * Find a class by it's name, cached.<br>
+	 * When restricted only registered classes are found.
+	 * 
+	 * @param name Name of the class.
+	 * @return The class, {@code null} When not found.
+	 */
+	private static Class<?> find(String name) {
+		
+		Class<?> cls = REGISTERED.get(name);
+		if (cls != null) return cls;
+		if (restricted) return null; //Only registered classes.
+		
+		cls = NAMES.get(name);
+		if (cls == null) {
+			
+			try {
+				cls = Class.forName(name, false, JSONBindings.class.getClassLoader());
+			} catch (Throwable ignore) {
+				cls = UNKNOWN;
+			};
+			if (NAMES.size() >= MAX_NAMES) NAMES.clear(); //Unknown names must not fill the memory.
+			NAMES.put(name, cls);
+			
+		};
+		return cls == UNKNOWN ? null : cls;
+		
+	};
+	
+	/**
+	 * The MethodHandles of a class, {@code null} when missing.
+	 */
+	private static class Binding {
+		
+		private final MethodHandle constructor;
+		private final MethodHandle toJSON;
+		
+		public Binding(Class<?> cls) {
+			
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			
+			MethodHandle constructor = null;
+			try {
+				constructor = lookup.findConstructor(cls, MethodType.methodType(void.class, JSONObject.class))
+					.asType(MethodType.methodType(Object.class, JSONObject.class));
+			} catch (Exception ignore) {};
+			this.constructor = constructor;
+			
+			MethodHandle toJSON = null;
+			try {
+				Method method = cls.getMethod("toJSON");
+				toJSON = lookup.unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+			} catch (Exception ignore) {};
+			this.toJSON = toJSON;
+			
+		};
+		
+	};
+	
+};
\ No newline at end of file
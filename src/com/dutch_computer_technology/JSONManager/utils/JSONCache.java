@@ -0,0 +1,252 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.dutch_computer_technology.JSONManager.data.JSONArray;
+import com.dutch_computer_technology.JSONManager.data.JSONObject;
+
+/**
+ * Stringified form of a JSONObject or JSONArray, kept between stringifies,<br>
+ * see {@link JSONConfig#cache()}.<br>
+ * <br>
+ * A JSONCache stays valid until something below it changes,<br>
+ * changing a JSONObject or JSONArray invalidates it's JSONCache &amp; those of it's parents.<br>
+ * Parents are linked when stringified, so a member of several parents invalidates all of them.<br>
+ * Small members are only marked valid, their text is not kept.
+ */
+public final class JSONCache {
+	
+	private static final int KEEP_SIZE = 64; //Smaller text is not kept, unless it's the root.
+	
+	private volatile boolean valid; //Nothing changed since stringified.
+	private volatile Entry entry;
+	private Object parents; //A JSONCache or JSONCache[], guarded by this.
+	
+	/**
+	 * Create a empty JSONCache, used by JSONObject &amp; JSONArray.
+	 */
+	public JSONCache() {};
+	
+	/**
+	 * Invalidate after a change, the parents are invalidated too.
+	 * 
+	 * @param removed The removed or replaced member, or {@code null}.
+	 */
+	public void changed(Object removed) {
+		
+		JSONCache cache = of(removed, false);
+		if (cache != null) cache.unlink(this); //No longer a member.
+		invalidate();
+		
+	};
+	
+	/**
+	 * Invalidate this JSONCache &amp; those of the parents,<br>
+	 * a invalid JSONCache has invalid parents already.
+	 */
+	private void invalidate() {
+		
+		JSONCache cache = this;
+		List<JSONCache> more = null; //Parents of JSONCache's with several parents.
+		while (true) {
+			
+			if (cache.valid) {
+				cache.valid = false;
+				cache.entry = null;
+				Object parents;
+				synchronized (cache) {
+					parents = cache.parents;
+				};
+				if (parents instanceof JSONCache) {
+					cache = (JSONCache) parents;
+					continue;
+				};
+				if (parents != null) {
+					if (more == null) more = new ArrayList<JSONCache>();
+					more.addAll(Arrays.asList((JSONCache[]) parents));
+				};
+			};
+			if (more == null || more.isEmpty()) return;
+			cache = more.remove(more.size() - 1);
+			
+		}
+		
+	};
+	
+	/**
+	 * Get the JSONCache of a JSONObject or JSONArray.
+	 * 
+	 * @param obj The Value.
+	 * @param create Create it when there is none yet.
+	 * @return The JSONCache, {@code null} When not a JSONObject or JSONArray.
+	 */
+	static JSONCache of(Object obj, boolean create) {
+		
+		if (obj instanceof JSONObject) return ((JSONObject) obj)._cache(create);
+		if (obj instanceof JSONArray) return ((JSONArray) obj)._cache(create);
+		return null;
+		
+	};
+	
+	/**
+	 * Check if a Value can't change without a JSONObject or JSONArray knowing it.
+	 * 
+	 * @param obj The Value, not a JSONObject or JSONArray.
+	 * @return {@code true} For {@code null}, Strings, Booleans &amp; the Numbers of java.lang &amp; java.math.
+	 */
+	static boolean cacheable(Object obj) {
+		
+		return obj == null || obj instanceof String || obj instanceof Boolean || obj instanceof Integer || obj instanceof Long || obj instanceof Double || obj instanceof Float
+			|| obj instanceof Short || obj instanceof Byte || obj instanceof Character || obj instanceof BigInteger || obj instanceof BigDecimal;
+			
+	};
+	
+	/**
+	 * Check if nothing changed since stringified.
+	 * 
+	 * @return {@code true} When valid.
+	 */
+	boolean valid() {
+		
+		return valid;
+		
+	};
+	
+	/**
+	 * Get the kept text.
+	 * 
+	 * @param config JSONConfig config for Stringifying.
+	 * @param myTabs The ammount of tabs.
+	 * @return The text, {@code null} When not kept for this config or invalid.
+	 */
+	String text(JSONConfig config, int myTabs) {
+		
+		Entry entry = this.entry;
+		if (entry == null || !entry.matches(config, myTabs)) return null;
+		return entry.text;
+		
+	};
+	
+	/**
+	 * Get the kept text as UTF-8, encoded on first use.
+	 * 
+	 * @param config JSONConfig config for Stringifying.
+	 * @param myTabs The ammount of tabs.
+	 * @return The bytes, {@code null} When not kept for this config or invalid.
+	 */
+	byte[] bytes(JSONConfig config, int myTabs) {
+		
+		Entry entry = this.entry;
+		if (entry == null || !entry.matches(config, myTabs)) return null;
+		byte[] bytes = entry.bytes;
+		if (bytes == null) entry.bytes = bytes = entry.text.getBytes(StandardCharsets.UTF_8);
+		return bytes;
+		
+	};
+	
+	/**
+	 * Mark valid after stringifying.
+	 * 
+	 * @param config JSONConfig config for Stringifying.
+	 * @param myTabs The ammount of tabs.
+	 * @param str The StringBuilder with the text.
+	 * @param start Start of the text.
+	 * @param root Always keep the text, even when small.
+	 */
+	void store(JSONConfig config, int myTabs, StringBuilder str, int start, boolean root) {
+		
+		int length = str.length() - start;
+		entry = root || length >= KEEP_SIZE ? new Entry(config, myTabs, str.substring(start)) : null;
+		valid = true;
+		
+	};
+	
+	/**
+	 * Mark valid after copying the original text of a lazy JSONObject or JSONArray.
+	 * 
+	 * @param config JSONConfig config for Stringifying.
+	 * @param text The original text.
+	 */
+	void store(JSONConfig config, String text) {
+		
+		entry = new Entry(config, 0, text);
+		valid = true;
+		
+	};
+	
+	/**
+	 * Link a parent, which is invalidated when this JSONCache is.
+	 * 
+	 * @param parent The JSONCache of the parent.
+	 */
+	synchronized void link(JSONCache parent) {
+		
+		if (parents == null) {
+			parents = parent;
+		} else if (parents instanceof JSONCache) {
+			if (parents != parent) parents = new JSONCache[] { (JSONCache) parents, parent };
+		} else {
+			JSONCache[] all = (JSONCache[]) parents;
+			for (JSONCache cache : all) if (cache == parent) return;
+			all = Arrays.copyOf(all, all.length + 1);
+			all[all.length - 1] = parent;
+			parents = all;
+		};
+		
+	};
+	
+	private synchronized void unlink(JSONCache parent) {
+		
+		if (parents == parent) {
+			parents = null;
+		} else if (parents instanceof JSONCache[]) {
+			JSONCache[] all = (JSONCache[]) parents;
+			for (int i = 0; i < all.length; i++) {
+				if (all[i] != parent) continue;
+				JSONCache[] rest = new JSONCache[all.length - 1];
+				System.arraycopy(all, 0, rest, 0, i);
+				System.arraycopy(all, i + 1, rest, i, rest.length - i);
+				parents = rest.length == 1 ? rest[0] : rest;
+				return;
+			};
+		};
+		
+	};
+	
+	/**
+	 * Kept text &amp; the settings it was stringified with.
+	 */
+	private static final class Entry {
+		
+		private final boolean suffix;
+		private final boolean tabs;
+		private final String indent;
+		private final int myTabs;
+		private final String text;
+		private volatile byte[] bytes;
+		
+		private Entry(JSONConfig config, int myTabs, String text) {
+			
+			this.suffix = config.suffix();
+			this.tabs = config.tabs();
+			this.indent = config.indent();
+			this.myTabs = myTabs;
+			this.text = text;
+			
+		};
+		
+		private boolean matches(JSONConfig config, int myTabs) {
+			
+			if (suffix != config.suffix() || tabs != config.tabs()) return false;
+			return !tabs || (this.myTabs == myTabs && indent.equals(config.indent())); //Without tabs the depth doesn't matter.
+			
+		};
+		
+	};
+	
+};
\ No newline at end of file
@@ -1,14 +1,25 @@
 package com.dutch_computer_technology.JSONManager.utils;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Config for Stringifying &amp; Parsing
  */
 public class JSONConfig {
 	
-	private boolean threaded = JSONUtils.threaded();
 	private boolean suffix = JSONUtils.suffix();
 	private boolean tabs = JSONUtils.tabs();
+	private String indent = JSONUtils.indent();
+	private JSONIndent indentation; //Table of the indent, on first use.
 	private boolean className = JSONUtils.className();
+	private ForkJoinPool pool = JSONUtils.pool();
+	private int threshold = JSONUtils.threshold();
+	private JSONExecution execution = JSONUtils.execution();
+	private Executor executor = JSONUtils.executor();
+	private boolean lazy = JSONUtils.lazy();
+	private boolean cache = JSONUtils.cache();
+	private int maxDepth = JSONUtils.maxDepth();
 	
 	/**
 	 * Create a config with Default settings
@@ -50,7 +61,7 @@ public class JSONConfig {
 		
 		this.suffix = suffix;
 		this.tabs = tabs;
-		this.threaded = threaded;
+		threaded(threaded);
 		
 	};
 	
@@ -66,19 +77,46 @@ public class JSONConfig {
 		
 		this.suffix = suffix;
 		this.tabs = tabs;
-		this.threaded = threaded;
+		threaded(threaded);
 		this.className = className;
 		
 	};
 	
 	/**
-	 * Enable/Disable Threading for Parsing/Stringifying JSON
+	 * Create a copy of a config, with all it's settings
+	 * 
+	 * @param config The config to copy
+	 */
+	public JSONConfig(JSONConfig config) {
+		
+		this.suffix = config.suffix;
+		this.tabs = config.tabs;
+		this.indent = config.indent;
+		this.indentation = config.indentation;
+		this.className = config.className;
+		this.pool = config.pool;
+		this.threshold = config.threshold;
+		this.execution = config.execution;
+		this.executor = config.executor;
+		this.lazy = config.lazy;
+		this.cache = config.cache;
+		this.maxDepth = config.maxDepth;
+		
+	};
+	
+	/**
+	 * Enable/Disable Threading for Parsing/Stringifying JSON,<br>
+	 * enabling uses {@link JSONExecution#FORK_JOIN} unless another execution is set.
 	 * 
 	 * @param threaded {@code true}/{@code false}
 	 */
 	public void threaded(boolean threaded) {
 		
-		this.threaded = threaded;
+		if (!threaded) {
+			this.execution = JSONExecution.INLINE;
+		} else if (this.execution == JSONExecution.INLINE) {
+			this.execution = JSONExecution.FORK_JOIN;
+		};
 		
 	};
 	
@@ -89,7 +127,98 @@ public class JSONConfig {
 	 */
 	public boolean threaded() {
 		
-		return this.threaded;
+		return this.execution != JSONExecution.INLINE;
+		
+	};
+	
+	/**
+	 * Set how members are Parsed/Stringified
+	 * 
+	 * @param execution The JSONExecution, {@code null} for {@link JSONExecution#INLINE}.
+	 */
+	public void execution(JSONExecution execution) {
+		
+		this.execution = execution == null ? JSONExecution.INLINE : execution;
+		
+	};
+	
+	/**
+	 * Get how members are Parsed/Stringified
+	 * 
+	 * @return The JSONExecution.
+	 */
+	public JSONExecution execution() {
+		
+		return this.execution;
+		
+	};
+	
+	/**
+	 * Set the Executor for {@link JSONExecution#EXECUTOR},<br>
+	 * also selects {@link JSONExecution#EXECUTOR} when not {@code null}.
+	 * 
+	 * @param executor The Executor.
+	 */
+	public void executor(Executor executor) {
+		
+		this.executor = executor;
+		if (executor != null) this.execution = JSONExecution.EXECUTOR;
+		
+	};
+	
+	/**
+	 * Get the Executor for {@link JSONExecution#EXECUTOR}
+	 * 
+	 * @return The Executor, {@code null} when not set.
+	 */
+	public Executor executor() {
+		
+		return this.executor;
+		
+	};
+	
+	/**
+	 * Set the ForkJoinPool used for {@link JSONExecution#FORK_JOIN}
+	 * 
+	 * @param pool The ForkJoinPool, {@code null} for the common pool.
+	 */
+	public void pool(ForkJoinPool pool) {
+		
+		this.pool = pool == null ? ForkJoinPool.commonPool() : pool;
+		
+	};
+	
+	/**
+	 * Get the ForkJoinPool used for {@link JSONExecution#FORK_JOIN}
+	 * 
+	 * @return The ForkJoinPool.
+	 */
+	public ForkJoinPool pool() {
+		
+		return this.pool;
+		
+	};
+	
+	/**
+	 * Set the minimum size of a JSONObject/JSONArray before it's members are split over Threads,<br>
+	 * smaller ones are handled on the current Thread.
+	 * 
+	 * @param threshold Size in characters.
+	 */
+	public void threshold(int threshold) {
+		
+		this.threshold = Math.max(threshold, 0);
+		
+	};
+	
+	/**
+	 * Get the minimum size of a JSONObject/JSONArray before it's members are split over Threads
+	 * 
+	 * @return Size in characters.
+	 */
+	public int threshold() {
+		
+		return this.threshold;
 		
 	};
 	
@@ -137,6 +266,43 @@ public class JSONConfig {
 		
 	};
 	
+	/**
+	 * Set the indent unit added per level when tabs are added, like a tab or 2 spaces
+	 * 
+	 * @param indent Tabs &amp; spaces, {@code null} for a tab.
+	 * @throws IllegalArgumentException When it contains anything else.
+	 */
+	public void indent(String indent) {
+		
+		this.indent = JSONIndent.check(indent);
+		this.indentation = null;
+		
+	};
+	
+	/**
+	 * Get the indent unit added per level when tabs are added
+	 * 
+	 * @return The indent unit.
+	 */
+	public String indent() {
+		
+		return this.indent;
+		
+	};
+	
+	/**
+	 * Get the table of indented lines.
+	 * 
+	 * @return The JSONIndent of the indent unit.
+	 */
+	JSONIndent indentation() {
+		
+		JSONIndent indentation = this.indentation;
+		if (indentation == null) this.indentation = indentation = JSONIndent.of(indent);
+		return indentation;
+		
+	};
+	
 	/**
 	 * Add className when a Class with toJSON is stringified
 	 * 
@@ -159,4 +325,74 @@ public class JSONConfig {
 		
 	};
 	
+	/**
+	 * Parse nested JSONObject's &amp; JSONArray's on first use,<br>
+	 * until then only their position is kept.<br>
+	 * Custom classes are not created for them, also not once used.
+	 * 
+	 * @param lazy {@code true}/{@code false}
+	 */
+	public void lazy(boolean lazy) {
+		
+		this.lazy = lazy;
+		
+	};
+	
+	/**
+	 * Get if nested JSONObject's &amp; JSONArray's are parsed on first use
+	 * 
+	 * @return {@code true} When parsed on first use, {@code false} When parsed right away.
+	 */
+	public boolean lazy() {
+		
+		return this.lazy;
+		
+	};
+	
+	/**
+	 * Keep the stringified form of JSONObject's &amp; JSONArray's between stringifies,<br>
+	 * unchanged ones are copied instead of stringified again, until they or a member change.
+	 * 
+	 * @param cache {@code true}/{@code false}
+	 */
+	public void cache(boolean cache) {
+		
+		this.cache = cache;
+		
+	};
+	
+	/**
+	 * Get if the stringified form of JSONObject's &amp; JSONArray's is kept
+	 * 
+	 * @return {@code true} When kept between stringifies, {@code false} When stringified every time.
+	 */
+	public boolean cache() {
+		
+		return this.cache;
+		
+	};
+	
+	/**
+	 * Set the maximum depth of nested JSONObject's &amp; JSONArray's,<br>
+	 * deeper ones fail to parse or stringify instead of running out of memory.
+	 * 
+	 * @param maxDepth Ammount of levels, the root is level 1.
+	 */
+	public void maxDepth(int maxDepth) {
+		
+		this.maxDepth = Math.max(maxDepth, 1);
+		
+	};
+	
+	/**
+	 * Get the maximum depth of nested JSONObject's &amp; JSONArray's
+	 * 
+	 * @return Ammount of levels, the root is level 1.
+	 */
+	public int maxDepth() {
+		
+		return this.maxDepth;
+		
+	};
+	
 };
\ No newline at end of file
@@ -0,0 +1,314 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import com.dutch_computer_technology.JSONManager.data.JSONArray;
+import com.dutch_computer_technology.JSONManager.data.JSONObject;
+import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+
+/**
+ * Reusable parser &amp; stringifier for a single Thread,<br>
+ * it's stacks &amp; buffers are kept between calls.<br>
+ * <br>
+ * Parsing many small messages then only creates the parsed JSONObject's, JSONArray's &amp; Values,<br>
+ * stringifying only creates the resulting String.<br>
+ * A JSONContext is not thread-safe, {@link #get()} returns the one of the current Thread.
+ */
+public final class JSONContext {
+	
+	private static final int KEEP_SIZE = 1 << 16; //A bigger StringBuilder is not kept between calls.
+	private static final ThreadLocal<JSONContext> LOCAL = ThreadLocal.withInitial(JSONContext::new);
+	
+	private final JSONParser parser;
+	private final JSONSource.Chars chars;
+	private final JSONSource.Bytes bytes;
+	private final JSONStringify stringify;
+	private final JSONEncoder encoder;
+	private StringBuilder str;
+	private boolean busy; //Used by a custom class while parsing or stringifying.
+	
+	/**
+	 * Create a JSONContext,<br>
+	 * see {@link #get()} for the one of the current Thread.
+	 */
+	public JSONContext() {
+		
+		this.parser = new JSONParser();
+		this.chars = new JSONSource.Chars(null);
+		this.bytes = new JSONSource.Bytes(null);
+		this.stringify = new JSONStringify();
+		this.encoder = new JSONEncoder();
+		this.str = new StringBuilder(256);
+		this.busy = false;
+		
+	};
+	
+	/**
+	 * Get the JSONContext of the current Thread.
+	 * 
+	 * @return The JSONContext.
+	 */
+	public static JSONContext get() {
+		
+		return LOCAL.get();
+		
+	};
+	
+	/**
+	 * Parse a JSONObject from a String.
+	 * 
+	 * @param str String to be parsed.
+	 * @param config JSONConfig config for Parsing.
+	 * @return The JSONObject.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONObject parseObject(String str, JSONConfig config) throws JSONParseException {
+		
+		if (str == null) throw new JSONParseException("Null"); //No String to parse.
+		JSONObject json = new JSONObject();
+		parse(json, '{', str, null, 0, str.length(), config);
+		return json;
+		
+	};
+	
+	/**
+	 * Parse a JSONObject from a part of a UTF-8 Byte array.
+	 * 
+	 * @param bytes Byte array to be parsed.
+	 * @param offset Position of the first byte.
+	 * @param length Ammount of bytes.
+	 * @param config JSONConfig config for Parsing.
+	 * @return The JSONObject.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONObject parseObject(byte[] bytes, int offset, int length, JSONConfig config) throws JSONParseException {
+		
+		if (bytes == null) throw new JSONParseException("Null"); //No bytes to parse.
+		if (offset < 0 || length < 0 || offset > bytes.length - length) throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
+		JSONObject json = new JSONObject();
+		parse(json, '{', null, bytes, offset, offset + length, config);
+		return json;
+		
+	};
+	
+	/**
+	 * Parse a JSONArray from a String.
+	 * 
+	 * @param str String to be parsed.
+	 * @param config JSONConfig config for Parsing.
+	 * @return The JSONArray.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONArray parseArray(String str, JSONConfig config) throws JSONParseException {
+		
+		if (str == null) throw new JSONParseException("Null"); //No String to parse.
+		JSONArray json = new JSONArray();
+		parse(json, '[', str, null, 0, str.length(), config);
+		return json;
+		
+	};
+	
+	/**
+	 * Parse a JSONArray from a part of a UTF-8 Byte array.
+	 * 
+	 * @param bytes Byte array to be parsed.
+	 * @param offset Position of the first byte.
+	 * @param length Ammount of bytes.
+	 * @param config JSONConfig config for Parsing.
+	 * @return The JSONArray.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONArray parseArray(byte[] bytes, int offset, int length, JSONConfig config) throws JSONParseException {
+		
+		if (bytes == null) throw new JSONParseException("Null"); //No bytes to parse.
+		if (offset < 0 || length < 0 || offset > bytes.length - length) throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
+		JSONArray json = new JSONArray();
+		parse(json, '[', null, bytes, offset, offset + length, config);
+		return json;
+		
+	};
+	
+	private void parse(Object target, char open, String str, byte[] bytes, int start, int end, JSONConfig config) throws JSONParseException {
+		
+		if (config == null) config = new JSONConfig();
+		
+		//Lazy Values keep their source, so it can't be reused.
+		if (busy || config.lazy()) {
+			JSONSource src = str != null ? new JSONSource.Chars(str) : new JSONSource.Bytes(bytes);
+			if (busy) { //Called by a custom class, the JSONParser is in use.
+				new JSONParser().reuse(target, open, src, start, end, config);
+				return;
+			};
+			parse(target, open, src, start, end, config);
+			return;
+		};
+		parse(target, open, str != null ? chars.reset(str) : this.bytes.reset(bytes), start, end, config);
+		
+	};
+	
+	private void parse(Object target, char open, JSONSource src, int start, int end, JSONConfig config) throws JSONParseException {
+		
+		busy = true;
+		try {
+			parser.reuse(target, open, src, start, end, config);
+		} finally {
+			busy = false;
+			chars.reset(null);
+			this.bytes.reset(null);
+		};
+		
+	};
+	
+	/**
+	 * Write a stringified JSONObject, JSONArray or Value to a Appendable, like a Writer or StringBuilder,<br>
+	 * without creating a String.
+	 * 
+	 * @param obj To be stringified.
+	 * @param out Appendable to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	public void write(Object obj, Appendable out, JSONConfig config) throws IOException {
+		
+		if (busy) { //Called by a custom class, the buffers are in use.
+			JSONStringify.write(obj, out, config);
+			return;
+		};
+		
+		if (out == null) throw new NullPointerException("out");
+		if (config == null) config = new JSONConfig();
+		
+		busy = true;
+		try {
+			stringify.write(obj, out, config, str);
+		} finally {
+			busy = false;
+			reset();
+		};
+		
+	};
+	
+	/**
+	 * Write a stringified JSONObject, JSONArray or Value to a OutputStream as UTF-8,<br>
+	 * without creating a String, the OutputStream is not flushed.
+	 * 
+	 * @param obj To be stringified.
+	 * @param out OutputStream to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	public void writeTo(Object obj, OutputStream out, JSONConfig config) throws IOException {
+		
+		if (busy) { //Called by a custom class, the buffers are in use.
+			JSONStringify.writeTo(obj, out, config);
+			return;
+		};
+		writeTo(obj, encoder.to(out), config);
+		
+	};
+	
+	/**
+	 * Write a stringified JSONObject, JSONArray or Value to a blocking WritableByteChannel as UTF-8,<br>
+	 * without creating a String.
+	 * 
+	 * @param obj To be stringified.
+	 * @param channel WritableByteChannel to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	public void writeTo(Object obj, WritableByteChannel channel, JSONConfig config) throws IOException {
+		
+		if (busy) { //Called by a custom class, the buffers are in use.
+			JSONStringify.writeTo(obj, channel, config);
+			return;
+		};
+		writeTo(obj, encoder.to(channel), config);
+		
+	};
+	
+	/**
+	 * Write a stringified JSONObject, JSONArray or Value to a ByteBuffer as UTF-8,<br>
+	 * from it's position without creating a String.
+	 * 
+	 * @param obj To be stringified.
+	 * @param buffer ByteBuffer to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws java.nio.BufferOverflowException When the ByteBuffer is too small.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	public void writeTo(Object obj, ByteBuffer buffer, JSONConfig config) {
+		
+		if (busy) { //Called by a custom class, the buffers are in use.
+			JSONStringify.writeTo(obj, buffer, config);
+			return;
+		};
+		try {
+			writeTo(obj, encoder.to(buffer), config);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); //Never, a ByteBuffer doesn't throw IOException's.
+		};
+		
+	};
+	
+	private void writeTo(Object obj, JSONEncoder encoder, JSONConfig config) throws IOException {
+		
+		if (config == null) config = new JSONConfig();
+		
+		busy = true;
+		try {
+			stringify.write(obj, encoder, config, str);
+			encoder.finish();
+		} finally {
+			busy = false;
+			encoder.clear();
+			reset();
+		};
+		
+	};
+	
+	/**
+	 * Stringify a JSONObject, JSONArray or Value.
+	 * 
+	 * @param obj To be stringified.
+	 * @param config JSONConfig config for Stringifying.
+	 * @return The stringified Value.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	public String stringify(Object obj, JSONConfig config) {
+		
+		if (config == null) config = new JSONConfig();
+		
+		if (busy) return JSONStringify.Stringify(obj, config, 0); //Called by a custom class, the buffers are in use.
+		if (config.cache()) return JSONStringify.Stringify(obj, config, 0); //The kept String, not a copy of the buffer.
+		
+		busy = true;
+		try {
+			stringify.append(obj, null, str, null, config, 0, 0);
+			return str.toString();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); //Never, nothing is written but the StringBuilder.
+		} finally {
+			busy = false;
+			reset();
+		}
+		
+	};
+	
+	private void reset() {
+		
+		if (str.capacity() > KEEP_SIZE) {
+			str = new StringBuilder(256);
+		} else {
+			str.setLength(0);
+		};
+		
+	};
+	
+};
\ No newline at end of file
@@ -0,0 +1,288 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writer encoding characters as UTF-8 into a reused byte buffer,<br>
+ * the buffer is written to a OutputStream, WritableByteChannel or ByteBuffer when full.<br>
+ * Chunks encoded by another JSONEncoder are written as they are, gathered for a GatheringByteChannel.<br>
+ * <br>
+ * Unpaired surrogates are written as ?, like String.getBytes.
+ */
+final class JSONEncoder extends Writer {
+	
+	private static final int SIZE = 8192;
+	private static final int CHUNK_SIZE = 1 << 16; //Chunks grow up to this many bytes.
+	
+	private byte[] bytes;
+	private ByteBuffer wrapped;
+	private int length;
+	private char high; //High surrogate at the end of the last write.
+	
+	private OutputStream stream;
+	private WritableByteChannel channel;
+	private ByteBuffer buffer;
+	private List<ByteBuffer> chunks; //Full buffers, kept instead of written.
+	
+	JSONEncoder() {
+		
+		this(SIZE);
+		
+	};
+	
+	JSONEncoder(int size) {
+		
+		this.bytes = new byte[Math.max(size, 16)];
+		this.wrapped = ByteBuffer.wrap(bytes);
+		
+	};
+	
+	/**
+	 * Encode to a OutputStream.
+	 * 
+	 * @param stream The OutputStream.
+	 * @return This JSONEncoder.
+	 */
+	JSONEncoder to(OutputStream stream) {
+		
+		if (stream == null) throw new NullPointerException("out");
+		clear();
+		this.stream = stream;
+		return this;
+		
+	};
+	
+	/**
+	 * Encode to a blocking WritableByteChannel.
+	 * 
+	 * @param channel The WritableByteChannel.
+	 * @return This JSONEncoder.
+	 */
+	JSONEncoder to(WritableByteChannel channel) {
+		
+		if (channel == null) throw new NullPointerException("channel");
+		clear();
+		this.channel = channel;
+		return this;
+		
+	};
+	
+	/**
+	 * Encode to a ByteBuffer, from it's position.
+	 * 
+	 * @param buffer The ByteBuffer.
+	 * @return This JSONEncoder.
+	 */
+	JSONEncoder to(ByteBuffer buffer) {
+		
+		if (buffer == null) throw new NullPointerException("buffer");
+		clear();
+		this.buffer = buffer;
+		return this;
+		
+	};
+	
+	/**
+	 * Keep the encoded bytes as chunks, see {@link #chunks()}.<br>
+	 * Every next chunk is bigger, up to 64 KB.
+	 * 
+	 * @return This JSONEncoder.
+	 */
+	JSONEncoder toChunks() {
+		
+		clear();
+		this.chunks = new ArrayList<ByteBuffer>();
+		return this;
+		
+	};
+	
+	/**
+	 * Forget the buffered bytes &amp; where to write them.
+	 */
+	void clear() {
+		
+		length = 0;
+		high = 0;
+		stream = null;
+		channel = null;
+		buffer = null;
+		chunks = null;
+		
+	};
+	
+	@Override
+	public void write(char[] chars, int off, int len) throws IOException {
+		
+		int end = off + len;
+		int i = off;
+		while (i < end) {
+			
+			if (length > bytes.length - 4) drain();
+			
+			//ASCII, no encoding needed.
+			char c = chars[i];
+			if (c < 0x80 && high == 0) {
+				int stop = Math.min(end, i + bytes.length - length);
+				do {
+					bytes[length++] = (byte) c;
+					if (++i == stop) break;
+					c = chars[i];
+				} while (c < 0x80);
+				continue;
+			};
+			i++;
+			
+			if (high != 0) {
+				if (Character.isLowSurrogate(c)) {
+					int code = Character.toCodePoint(high, c);
+					high = 0;
+					bytes[length++] = (byte) (0xF0 | (code >> 18));
+					bytes[length++] = (byte) (0x80 | ((code >> 12) & 0x3F));
+					bytes[length++] = (byte) (0x80 | ((code >> 6) & 0x3F));
+					bytes[length++] = (byte) (0x80 | (code & 0x3F));
+					continue;
+				};
+				high = 0;
+				bytes[length++] = '?'; //Unpaired high surrogate.
+				if (length > bytes.length - 4) drain();
+			};
+			
+			if (c < 0x80) {
+				bytes[length++] = (byte) c;
+			} else if (c < 0x800) {
+				bytes[length++] = (byte) (0xC0 | (c >> 6));
+				bytes[length++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c)) {
+				high = c; //Encoded with the next character.
+			} else if (Character.isLowSurrogate(c)) {
+				bytes[length++] = '?'; //Unpaired low surrogate.
+			} else {
+				bytes[length++] = (byte) (0xE0 | (c >> 12));
+				bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				bytes[length++] = (byte) (0x80 | (c & 0x3F));
+			};
+			
+		};
+		
+	};
+	
+	/**
+	 * Write the buffered bytes.
+	 * 
+	 * @throws IOException When writing fails.
+	 */
+	private void drain() throws IOException {
+		
+		if (length == 0) return;
+		if (chunks != null) {
+			chunks.add(ByteBuffer.wrap(bytes, 0, length));
+			bytes = new byte[Math.max(bytes.length, Math.min(bytes.length << 1, CHUNK_SIZE))]; //The chunk keeps the old one.
+			wrapped = ByteBuffer.wrap(bytes);
+		} else if (stream != null) {
+			stream.write(bytes, 0, length);
+		} else if (channel != null) {
+			wrapped.clear().limit(length);
+			while (wrapped.hasRemaining()) channel.write(wrapped);
+		} else {
+			buffer.put(bytes, 0, length);
+		};
+		length = 0;
+		
+	};
+	
+	/**
+	 * Write encoded chunks after everything that is buffered.
+	 * 
+	 * @param chunks The chunks, from their position to their limit.
+	 * @throws IOException When writing fails.
+	 */
+	void write(List<ByteBuffer> chunks) throws IOException {
+		
+		end();
+		if (this.chunks != null) {
+			this.chunks.addAll(chunks);
+		} else if (stream != null) {
+			for (ByteBuffer chunk : chunks) stream.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+		} else if (channel instanceof GatheringByteChannel) {
+			ByteBuffer[] srcs = chunks.toArray(new ByteBuffer[chunks.size()]);
+			int first = 0;
+			while (first < srcs.length) {
+				((GatheringByteChannel) channel).write(srcs, first, srcs.length - first);
+				while (first < srcs.length && !srcs[first].hasRemaining()) first++;
+			};
+		} else if (channel != null) {
+			for (ByteBuffer chunk : chunks) while (chunk.hasRemaining()) channel.write(chunk);
+		} else {
+			for (ByteBuffer chunk : chunks) buffer.put(chunk);
+		};
+		
+	};
+	
+	/**
+	 * Write a unpaired high surrogate &amp; everything that is buffered.
+	 * 
+	 * @throws IOException When writing fails.
+	 */
+	private void end() throws IOException {
+		
+		if (high != 0) {
+			high = 0;
+			bytes[length++] = '?'; //Unpaired high surrogate at the end.
+		};
+		drain();
+		
+	};
+	
+	/**
+	 * Get the encoded chunks &amp; stop keeping them.
+	 * 
+	 * @return The chunks, in order.
+	 * @throws IOException Never, chunks are not written.
+	 */
+	List<ByteBuffer> chunks() throws IOException {
+		
+		end();
+		List<ByteBuffer> chunks = this.chunks;
+		this.chunks = null;
+		return chunks;
+		
+	};
+	
+	/**
+	 * Write everything that is buffered,<br>
+	 * the OutputStream or WritableByteChannel is not flushed or closed.
+	 * 
+	 * @throws IOException When writing fails.
+	 */
+	void finish() throws IOException {
+		
+		end();
+		stream = null;
+		channel = null;
+		buffer = null;
+		
+	};
+	
+	@Override
+	public void flush() throws IOException {
+		
+		drain();
+		if (stream != null) stream.flush();
+		
+	};
+	
+	@Override
+	public void close() throws IOException {
+		
+		finish();
+		
+	};
+	
+};
\ No newline at end of file
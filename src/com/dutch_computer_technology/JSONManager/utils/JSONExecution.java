@@ -0,0 +1,29 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+/**
+ * How the members of a JSONObject/JSONArray are Parsed/Stringified
+ */
+public enum JSONExecution {
+	
+	/**
+	 * On the current Thread, no Threading
+	 */
+	INLINE,
+	
+	/**
+	 * Split over the ForkJoinPool of the config
+	 */
+	FORK_JOIN,
+	
+	/**
+	 * A virtual Thread per part,<br>
+	 * needs Java 21 or newer, otherwise {@link #FORK_JOIN} is used.
+	 */
+	VIRTUAL_THREADS,
+	
+	/**
+	 * On the Executor of the config
+	 */
+	EXECUTOR;
+	
+};
\ No newline at end of file
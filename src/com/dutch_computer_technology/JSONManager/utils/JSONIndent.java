@@ -0,0 +1,89 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table of indented lines for stringifying with tabs,<br>
+ * a newline followed by the indent unit repeated, appended without creating a String.<br>
+ * The table grows when a deeper line is needed &amp; is shared by every Thread.
+ */
+final class JSONIndent {
+	
+	private static final int KEEP_UNIT = 8; //Longer units are not kept in the cache.
+	private static final ConcurrentHashMap<String, JSONIndent> CACHE = new ConcurrentHashMap<String, JSONIndent>();
+	
+	private final String unit;
+	private volatile char[] line; //Newline & the unit as often as fits.
+	
+	private JSONIndent(String unit) {
+		
+		this.unit = unit;
+		this.line = fill(16);
+		
+	};
+	
+	/**
+	 * Get the JSONIndent of a unit.
+	 * 
+	 * @param unit The indent unit.
+	 * @return The JSONIndent.
+	 */
+	static JSONIndent of(String unit) {
+		
+		if (unit.length() > KEEP_UNIT) return new JSONIndent(unit);
+		return CACHE.computeIfAbsent(unit, JSONIndent::new);
+		
+	};
+	
+	/**
+	 * Check if a indent unit only contains tabs &amp; spaces.
+	 * 
+	 * @param unit The indent unit, {@code null} for a tab.
+	 * @return The indent unit.
+	 * @throws IllegalArgumentException When it contains anything else.
+	 */
+	static String check(String unit) {
+		
+		if (unit == null) return "\t";
+		for (int i = 0; i < unit.length(); i++) {
+			char c = unit.charAt(i);
+			if (c != '\t' && c != ' ') throw new IllegalArgumentException("Not a tab or space at " + i + " in indent");
+		};
+		return unit;
+		
+	};
+	
+	/**
+	 * Append a newline &amp; the indent of a level.
+	 * 
+	 * @param str The StringBuilder to append to.
+	 * @param level Ammount of units.
+	 */
+	void append(StringBuilder str, int level) {
+		
+		if (level < 0) level = 0;
+		int length = 1 + level * unit.length();
+		char[] line = this.line;
+		if (length > line.length) line = grow(level);
+		str.append(line, 0, length);
+		
+	};
+	
+	private char[] grow(int level) {
+		
+		char[] line = fill(Math.max(level, ((this.line.length - 1) / Math.max(unit.length(), 1)) << 1));
+		this.line = line;
+		return line;
+		
+	};
+	
+	private char[] fill(int levels) {
+		
+		char[] line = new char[1 + levels * unit.length()];
+		line[0] = '\n';
+		for (int i = 1; i < line.length; i++) line[i] = unit.charAt((i - 1) % unit.length());
+		return line;
+		
+	};
+	
+};
\ No newline at end of file
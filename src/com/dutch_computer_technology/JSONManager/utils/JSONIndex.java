@@ -0,0 +1,253 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+
+/**
+ * Structural index of a JSON text,<br>
+ * the positions of all quotes, brackets, commas &amp; colons outside of Strings.<br>
+ * <br>
+ * The text is split into chunks which are indexed in parallel,<br>
+ * each chunk is indexed as if it starts outside &amp; inside a String,<br>
+ * once all chunks are done the quotes before each chunk tell which one is right.
+ */
+final class JSONIndex {
+	
+	private static final int CHUNK_SIZE = 1 << 16; //Characters per chunk.
+	
+	private final JSONSource src;
+	private final int end;
+	private final Chunk[] chunks;
+	
+	private JSONIndex(JSONSource src, int end, Chunk[] chunks) {
+		
+		this.src = src;
+		this.end = end;
+		this.chunks = chunks;
+		
+	};
+	
+	/**
+	 * Index the characters between start &amp; end.
+	 * 
+	 * @param src Characters to be indexed.
+	 * @param start Start position, inclusive.
+	 * @param end End position, exclusive.
+	 * @param config JSONConfig with the JSONExecution &amp; threshold.
+	 * @return The JSONIndex.
+	 * @throws JSONParseException When a String is not closed.
+	 */
+	static JSONIndex build(JSONSource src, int start, int end, JSONConfig config) throws JSONParseException {
+		
+		int count = (int) (((long) end - start + CHUNK_SIZE - 1) / CHUNK_SIZE);
+		Chunk[] chunks = new Chunk[count];
+		int[] sizes = new int[count];
+		for (int i = 0; i < count; i++) {
+			int from = start + i * CHUNK_SIZE;
+			chunks[i] = new Chunk(from, (int) Math.min((long) from + CHUNK_SIZE, end));
+			sizes[i] = chunks[i].to - from;
+		};
+		
+		JSONTasks.run(config, sizes, i -> chunks[i].scan(src, start));
+		
+		//Carry the String state & depth from chunk to chunk.
+		boolean inside = false;
+		int depth = 0;
+		for (Chunk chunk : chunks) {
+			chunk.inside = inside;
+			chunk.depth = depth;
+			if (chunk.quotes) inside = !inside;
+			depth += chunk.delta[chunk.inside ? 1 : 0];
+		};
+		if (inside) throw new JSONParseException("String not closed at " + end);
+		
+		return new JSONIndex(src, end, chunks);
+		
+	};
+	
+	/**
+	 * Find the commas between the elements of the root,<br>
+	 * the root bracket must be the first structural character.
+	 * 
+	 * @param config JSONConfig with the JSONExecution &amp; threshold.
+	 * @return Positions of the commas in order, followed by the closing bracket.
+	 * @throws JSONParseException When the root is not closed or followed by more brackets.
+	 */
+	int[] separators(JSONConfig config) throws JSONParseException {
+		
+		int[] sizes = new int[chunks.length];
+		for (int i = 0; i < sizes.length; i++) sizes[i] = chunks[i].count[chunks[i].inside ? 1 : 0];
+		
+		JSONTasks.run(config, sizes, i -> chunks[i].separate(src, i == 0));
+		
+		int total = 0;
+		int close = -1;
+		for (Chunk chunk : chunks) {
+			if (chunk.illegal >= 0) throw new JSONParseException("Unexpected character at " + chunk.illegal);
+			total += chunk.separators.length;
+			if (chunk.close >= 0) close = chunk.close;
+		};
+		if (close < 0) throw new JSONParseException("Unexpected end at " + end);
+		
+		int[] separators = new int[total + 1];
+		int at = 0;
+		for (Chunk chunk : chunks) {
+			System.arraycopy(chunk.separators, 0, separators, at, chunk.separators.length);
+			at += chunk.separators.length;
+			chunk.separators = null;
+		};
+		separators[total] = close;
+		return separators;
+		
+	};
+	
+	/**
+	 * A part of the text,<br>
+	 * indexed as if starting outside [0] &amp; inside [1] a String.
+	 */
+	private static class Chunk {
+		
+		private final int from;
+		private final int to;
+		
+		private final int[][] found;
+		private final int[] count;
+		private final int[] delta;
+		private boolean quotes;
+		
+		private boolean inside;
+		private int depth;
+		
+		private int[] separators;
+		private int close;
+		private int illegal;
+		
+		public Chunk(int from, int to) {
+			
+			this.from = from;
+			this.to = to;
+			
+			this.found = new int[2][];
+			this.count = new int[2];
+			this.delta = new int[2];
+			this.quotes = false;
+			
+			this.close = -1;
+			this.illegal = -1;
+			
+		};
+		
+		/**
+		 * Stage one, find the structural characters of both interpretations.
+		 * 
+		 * @param src Characters to be indexed.
+		 * @param start Start of the text, backslashes are not counted before it.
+		 */
+		private void scan(JSONSource src, int start) {
+			
+			int capacity = Math.max(16, (to - from) >> 3);
+			found[0] = new int[capacity];
+			found[1] = new int[capacity];
+			
+			//A odd run of backslashes before the chunk escapes the first character.
+			boolean escaped = false;
+			for (int i = from; i > start && src.charAt(i-1) == '\\'; i--) escaped = !escaped;
+			
+			int in = 0; //1 while inside a String, when the chunk starts outside.
+			for (int i = from; i < to; i++) {
+				
+				char c = src.charAt(i);
+				if (escaped) {
+					escaped = false;
+					continue;
+				};
+				
+				switch (c) {
+					case '\\':
+						escaped = true;
+						break;
+					case '"':
+						add(0, i);
+						add(1, i);
+						quotes = !quotes;
+						in ^= 1;
+						break;
+					case '{':
+					case '[':
+						add(in, i);
+						delta[in]++;
+						break;
+					case '}':
+					case ']':
+						add(in, i);
+						delta[in]--;
+						break;
+					case ',':
+					case ':':
+						add(in, i);
+						break;
+				};
+				
+			};
+			
+		};
+		
+		private void add(int list, int position) {
+			
+			int[] positions = found[list];
+			if (count[list] == positions.length) {
+				positions = new int[positions.length << 1];
+				System.arraycopy(found[list], 0, positions, 0, count[list]);
+				found[list] = positions;
+			};
+			positions[count[list]++] = position;
+			
+		};
+		
+		/**
+		 * Stage two, find the commas of the root using the carried depth.
+		 * 
+		 * @param src Characters of the index.
+		 * @param first {@code true} for the chunk with the root bracket.
+		 */
+		private void separate(JSONSource src, boolean first) {
+			
+			int list = inside ? 1 : 0;
+			found[list ^ 1] = null; //Wrong interpretation, no longer needed.
+			int[] positions = found[list];
+			int[] commas = new int[16];
+			int size = 0;
+			int d = depth;
+			
+			for (int i = 0; i < count[list]; i++) {
+				
+				int p = positions[i];
+				char c = src.charAt(p);
+				if (c == '"') continue;
+				if (d <= 0 && !(first && i == 0)) {
+					illegal = p; //Past the end of the root.
+					break;
+				};
+				
+				if (c == '{' || c == '[') {
+					d++;
+				} else if (c == '}' || c == ']') {
+					if (--d == 0) close = p;
+				} else if (c == ',' && d == 1) {
+					if (size == commas.length) {
+						int[] grown = new int[size << 1];
+						System.arraycopy(commas, 0, grown, 0, size);
+						commas = grown;
+					};
+					commas[size++] = p;
+				};
+				
+			};
+			
+			separators = new int[size];
+			System.arraycopy(commas, 0, separators, 0, size);
+			
+		};
+		
+	};
+	
+};
\ No newline at end of file
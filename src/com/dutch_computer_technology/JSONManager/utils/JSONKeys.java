@@ -0,0 +1,60 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+/**
+ * Cache of the keys seen while parsing,<br>
+ * so a key repeated in many JSONObject's is only created once.<br>
+ * <br>
+ * Keys are matched on their raw characters &amp; hash, without creating a String.<br>
+ * The cache has a fixed size, a new key simply replaces the one in it's slot.<br>
+ * Slots are read &amp; written without locking, which is safe as Strings are immutable.
+ */
+final class JSONKeys {
+	
+	private static final int SIZE = 4096; //Slots, a power of 2.
+	private static final int MAX_LENGTH = 64; //Longer keys are not cached.
+	private static final String[] KEYS = new String[SIZE];
+	
+	private JSONKeys() {};
+	
+	/**
+	 * Get the key between start &amp; end,<br>
+	 * from the cache when seen before.
+	 * 
+	 * @param src Characters of the key, without escapes.
+	 * @param start Start position, inclusive.
+	 * @param end End position, exclusive.
+	 * @return The key.
+	 */
+	static String key(JSONSource src, int start, int end) {
+		
+		if (end - start > MAX_LENGTH) return src.string(start, end);
+		
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			char c = src.charAt(i);
+			if (c >= 0x80) return src.string(start, end); //Only ASCII, so bytes & chars compare the same.
+			hash = 31 * hash + c; //Same as String.hashCode
+		};
+		
+		int slot = (hash ^ (hash >>> 16)) & (SIZE - 1);
+		String key = KEYS[slot];
+		if (key != null && key.hashCode() == hash && matches(key, src, start, end)) return key;
+		
+		key = src.string(start, end);
+		key.hashCode(); //Cache the hash inside the String, for the HashMap.
+		KEYS[slot] = key;
+		return key;
+		
+	};
+	
+	private static boolean matches(String key, JSONSource src, int start, int end) {
+		
+		if (key.length() != end - start) return false;
+		for (int i = 0; i < key.length(); i++) {
+			if (key.charAt(i) != src.charAt(start + i)) return false;
+		};
+		return true;
+		
+	};
+	
+};
\ No newline at end of file
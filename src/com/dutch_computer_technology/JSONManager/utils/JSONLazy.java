@@ -0,0 +1,128 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.function.Function;
+
+import com.dutch_computer_technology.JSONManager.data.JSONArray;
+import com.dutch_computer_technology.JSONManager.data.JSONObject;
+import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+
+/**
+ * Position of a nested JSONObject or JSONArray not parsed yet,<br>
+ * used when {@link JSONConfig#lazy()} is enabled.<br>
+ * <br>
+ * Keeps the parsed String or bytes until it is parsed,<br>
+ * the syntax was already checked while skipping it.<br>
+ * <br>
+ * JSONObject &amp; JSONArray only see it as a Function, so none of this is public:<br>
+ * given the Map or List it parses the members into it,<br>
+ * given the JSONConfig for Stringifying it returns the original text when that can be copied.
+ */
+final class JSONLazy implements Function<Object, String> {
+	
+	private static final MethodHandle OBJECT = constructor(JSONObject.class);
+	private static final MethodHandle ARRAY = constructor(JSONArray.class);
+	
+	private final JSONSource src;
+	private final int start;
+	private final int end;
+	private final JSONConfig config;
+	private volatile Boolean single; //The text is on a single line, checked on first copy.
+	
+	JSONLazy(JSONSource src, int start, int end, JSONConfig config) {
+		
+		this.src = src;
+		this.start = start;
+		this.end = end;
+		this.config = config;
+		
+	};
+	
+	/**
+	 * Find the private constructor of a JSONObject or JSONArray taking a lazy Function.
+	 * 
+	 * @param type JSONObject or JSONArray.
+	 * @return The constructor.
+	 */
+	private static MethodHandle constructor(Class<?> type) {
+		
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor(Function.class);
+			constructor.setAccessible(true);
+			return MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class, JSONLazy.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e); //Never, both are part of this library.
+		}
+		
+	};
+	
+	/**
+	 * Create a JSONObject or JSONArray parsed on first use.
+	 * 
+	 * @param src Characters that were parsed.
+	 * @param start Position of the { or [.
+	 * @param end Position after the } or ].
+	 * @param config JSONConfig config for Parsing.
+	 * @return The JSONObject or JSONArray.
+	 */
+	static Object create(JSONSource src, int start, int end, JSONConfig config) {
+		
+		JSONLazy lazy = new JSONLazy(src, start, end, config);
+		try {
+			return (Object) (src.charAt(start) == '{' ? OBJECT : ARRAY).invokeExact(lazy);
+		} catch (Throwable e) {
+			throw new IllegalStateException(e); //Never, the constructors only store the Function.
+		}
+		
+	};
+	
+	/**
+	 * Parse the members into the Map or List,<br>
+	 * or get the original text when it can be copied.
+	 * 
+	 * @param arg The Map or List to store the parsed data, or the JSONConfig config for Stringifying.
+	 * @return The original text, {@code null} When parsed or it can't be copied.
+	 */
+	@Override
+	public String apply(Object arg) {
+		
+		if (arg == null || arg instanceof JSONConfig) return copy((JSONConfig) arg) ? src.string(start, end) : null;
+		try {
+			JSONParser.parseLazy(arg, src, start, end, config);
+		} catch (JSONParseException e) {
+			throw new IllegalStateException(e.getMessage(), e); //Should never happen, checked while skipping.
+		};
+		return null;
+		
+	};
+	
+	/**
+	 * Check if the original text can be used when stringified,<br>
+	 * only when neither tabs nor suffix's are added &amp; the text is on a single line.
+	 * 
+	 * @param config JSONConfig config for Stringifying.
+	 * @return {@code true} When the text can be copied.
+	 */
+	private boolean copy(JSONConfig config) {
+		
+		if (config == null ? JSONUtils.tabs() || JSONUtils.suffix() : config.tabs() || config.suffix()) return false;
+		Boolean single = this.single;
+		if (single == null) {
+			single = true;
+			for (int i = start; i < end; i++) {
+				char c = src.charAt(i);
+				if (c == '\n' || c == '\r') {
+					single = false; //Pretty printed, would split a JSON Line.
+					break;
+				};
+			};
+			this.single = single;
+		};
+		return single;
+		
+	};
+	
+};
\ No newline at end of file
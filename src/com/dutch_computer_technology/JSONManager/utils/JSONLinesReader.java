@@ -0,0 +1,288 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.dutch_computer_technology.JSONManager.data.JSONObject;
+import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+
+/**
+ * Reader for JSON Lines (NDJSON), one JSONObject per line.<br>
+ * <br>
+ * Lines are read in batches of UTF-8 bytes,<br>
+ * each batch is parsed using the JSONExecution of the JSONConfig &amp; returned in order.<br>
+ * Empty lines are skipped.
+ */
+public class JSONLinesReader implements Iterator<JSONObject>, Closeable {
+	
+	private static final int BATCH_SIZE = 1 << 20; //Bytes read per batch.
+	
+	private final InputStream in;
+	private final JSONConfig config;
+	
+	private byte[] rest; //Start of the next line, read with the previous batch.
+	private int restLength;
+	private boolean eof;
+	private long line; //Number of the first line in the batch.
+	
+	private JSONObject[] batch;
+	private int next;
+	
+	/**
+	 * Create a JSONLinesReader reading from a UTF-8 InputStream.
+	 * 
+	 * @param in InputStream to read from.
+	 */
+	public JSONLinesReader(InputStream in) {
+		
+		this(in, null);
+		
+	};
+	
+	/**
+	 * Create a JSONLinesReader reading from a UTF-8 InputStream.
+	 * 
+	 * @param in InputStream to read from.
+	 * @param config JSONConfig config for Parsing.
+	 */
+	public JSONLinesReader(InputStream in, JSONConfig config) {
+		
+		if (in == null) throw new NullPointerException("in");
+		
+		this.in = in;
+		this.config = config == null ? new JSONConfig() : config;
+		this.rest = new byte[0];
+		this.restLength = 0;
+		this.eof = false;
+		this.line = 1;
+		this.batch = new JSONObject[0];
+		this.next = 0;
+		
+	};
+	
+	/**
+	 * Create a JSONLinesReader reading from a UTF-8 file.
+	 * 
+	 * @param path File to read from.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws IOException When opening the file fails.
+	 */
+	public JSONLinesReader(Path path, JSONConfig config) throws IOException {
+		
+		this(Files.newInputStream(path), config);
+		
+	};
+	
+	/**
+	 * Read the next JSONObject.
+	 * 
+	 * @return The JSONObject, {@code null} at the end.
+	 * @throws JSONParseException When a line is not a valid JSONObject.
+	 * @throws IOException When reading fails.
+	 */
+	public JSONObject read() throws JSONParseException, IOException {
+		
+		if (!fill()) return null;
+		return take();
+		
+	};
+	
+	/**
+	 * Read batches until there is a JSONObject left.
+	 * 
+	 * @return {@code false} At the end.
+	 * @throws JSONParseException When a line is not a valid JSONObject.
+	 * @throws IOException When reading fails.
+	 */
+	private boolean fill() throws JSONParseException, IOException {
+		
+		while (next == batch.length) {
+			if (eof && restLength == 0) return false;
+			readBatch();
+		};
+		return true;
+		
+	};
+	
+	private JSONObject take() {
+		
+		JSONObject json = batch[next];
+		batch[next++] = null; //Only keep what was not returned yet.
+		return json;
+		
+	};
+	
+	/**
+	 * Read &amp; parse the next batch of lines.
+	 * 
+	 * @throws JSONParseException When a line is not a valid JSONObject.
+	 * @throws IOException When reading fails.
+	 */
+	private void readBatch() throws JSONParseException, IOException {
+		
+		//A new array every batch, lazy Values keep a reference to it.
+		byte[] bytes = new byte[Math.max(BATCH_SIZE, restLength << 1)];
+		System.arraycopy(rest, 0, bytes, 0, restLength);
+		int length = restLength;
+		
+		while (!eof && length < bytes.length) {
+			int read = in.read(bytes, length, bytes.length - length);
+			if (read < 0) {
+				eof = true;
+			} else {
+				length += read;
+			};
+		};
+		
+		//Only complete lines, the rest is carried over to the next batch.
+		int last = length - 1;
+		while (last >= 0 && bytes[last] != '\n') last--;
+		int end = eof ? length : last + 1;
+		if (end == 0) {
+			rest = bytes; //A single line longer than the batch, read more.
+			restLength = length;
+			batch = new JSONObject[0];
+			next = 0;
+			return;
+		};
+		restLength = length - end;
+		rest = new byte[restLength];
+		System.arraycopy(bytes, end, rest, 0, restLength);
+		
+		//Find the lines.
+		int count = 0;
+		int[] starts = new int[64];
+		int[] ends = new int[64];
+		long[] numbers = new long[64];
+		int start = 0;
+		while (start < end) {
+			
+			int stop = JSONScan.newline(bytes, start, end);
+			if (!blank(bytes, start, stop)) {
+				if (count == starts.length) {
+					starts = grow(starts);
+					ends = grow(ends);
+					long[] grown = new long[count << 1];
+					System.arraycopy(numbers, 0, grown, 0, count);
+					numbers = grown;
+				};
+				starts[count] = start;
+				ends[count] = stop;
+				numbers[count] = line;
+				count++;
+			};
+			line++;
+			start = stop + 1;
+			
+		};
+		
+		JSONObject[] parsed = new JSONObject[count];
+		int[] sizes = new int[count];
+		for (int i = 0; i < count; i++) sizes[i] = ends[i] - starts[i];
+		
+		int[] offsets = starts;
+		long[] lines = numbers;
+		JSONTasks.run(config, sizes, i -> {
+			try {
+				parsed[i] = new JSONObject(bytes, offsets[i], sizes[i], config);
+			} catch (JSONParseException e) {
+				throw new JSONParseException("Line " + lines[i] + ", " + e.getMessage());
+			};
+		});
+		
+		batch = parsed;
+		next = 0;
+		
+	};
+	
+	private static boolean blank(byte[] bytes, int start, int end) {
+		
+		for (int i = start; i < end; i++) {
+			byte c = bytes[i];
+			if (c != ' ' && c != '\r' && c != '\t') return false;
+		};
+		return true;
+		
+	};
+	
+	private static int[] grow(int[] array) {
+		
+		int[] grown = new int[array.length << 1];
+		System.arraycopy(array, 0, grown, 0, array.length);
+		return grown;
+		
+	};
+	
+	/**
+	 * Check if there is another JSONObject.
+	 * 
+	 * @return {@code true} When there is another JSONObject.
+	 * @throws IllegalStateException When a line is not a valid JSONObject.
+	 * @throws UncheckedIOException When reading fails.
+	 */
+	@Override
+	public boolean hasNext() {
+		
+		try {
+			return fill();
+		} catch (JSONParseException e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+	};
+	
+	/**
+	 * Get the next JSONObject.
+	 * 
+	 * @return The JSONObject.
+	 * @throws NoSuchElementException At the end.
+	 * @throws IllegalStateException When a line is not a valid JSONObject.
+	 * @throws UncheckedIOException When reading fails.
+	 */
+	@Override
+	public JSONObject next() {
+		
+		if (!hasNext()) throw new NoSuchElementException();
+		return take();
+		
+	};
+	
+	/**
+	 * Get the JSONObject's as a sequential Stream,<br>
+	 * closing the Stream closes this JSONLinesReader.
+	 * 
+	 * @return The Stream.
+	 */
+	public Stream<JSONObject> stream() {
+		
+		Spliterator<JSONObject> split = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(split, false).onClose(() -> {
+			try {
+				close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			};
+		});
+		
+	};
+	
+	@Override
+	public void close() throws IOException {
+		
+		in.close();
+		
+	};
+	
+};
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.dutch_computer_technology.JSONManager.data.JSONObject;
+
+/**
+ * Writer for JSON Lines (NDJSON), one JSONObject per line.<br>
+ * <br>
+ * Lines are buffered &amp; written as UTF-8 when the buffer is full, flushed or closed.<br>
+ * Tabs are never added, they would split a JSONObject over multiple lines.
+ */
+public class JSONLinesWriter implements Closeable, Flushable {
+	
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	private final Writer writer;
+	private final JSONConfig config;
+	private final JSONStringify stringify;
+	private final StringBuilder buffer;
+	
+	/**
+	 * Create a JSONLinesWriter writing to a OutputStream as UTF-8.
+	 * 
+	 * @param out OutputStream to write to.
+	 */
+	public JSONLinesWriter(OutputStream out) {
+		
+		this(out, null);
+		
+	};
+	
+	/**
+	 * Create a JSONLinesWriter writing to a OutputStream as UTF-8.
+	 * 
+	 * @param out OutputStream to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 */
+	public JSONLinesWriter(OutputStream out, JSONConfig config) {
+		
+		if (out == null) throw new NullPointerException("out");
+		
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+		this.config = lines(config == null ? new JSONConfig() : config);
+		this.stringify = new JSONStringify();
+		this.buffer = new StringBuilder();
+		
+	};
+	
+	/**
+	 * Create a JSONLinesWriter writing to a file as UTF-8,<br>
+	 * the file is created or truncated.
+	 * 
+	 * @param path File to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When opening the file fails.
+	 */
+	public JSONLinesWriter(Path path, JSONConfig config) throws IOException {
+		
+		this(Files.newOutputStream(path), config);
+		
+	};
+	
+	/**
+	 * Copy of the JSONConfig without tabs.
+	 * 
+	 * @param config JSONConfig config for Stringifying.
+	 * @return The JSONConfig to use.
+	 */
+	private static JSONConfig lines(JSONConfig config) {
+		
+		if (!config.tabs()) return config;
+		JSONConfig lines = new JSONConfig(config);
+		lines.tabs(false);
+		return lines;
+		
+	};
+	
+	/**
+	 * Write a JSONObject as a line.
+	 * 
+	 * @param json The JSONObject.
+	 * @throws IOException When writing fails.
+	 */
+	public void write(JSONObject json) throws IOException {
+		
+		if (json == null) throw new NullPointerException("json");
+		stringify.write(json, writer, config, buffer); //Without a String per line.
+		writer.write('\n');
+		
+	};
+	
+	/**
+	 * Write JSONObject's as lines in order,<br>
+	 * stringified using the JSONExecution of the JSONConfig.
+	 * 
+	 * @param list The JSONObject's.
+	 * @throws IOException When writing fails.
+	 */
+	public void write(List<JSONObject> list) throws IOException {
+		
+		JSONObject[] values = list.toArray(new JSONObject[0]);
+		String[] lines = new String[values.length];
+		int[] sizes = new int[values.length];
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] == null) throw new NullPointerException("json");
+			sizes[i] = values[i].size() * 16 + 2; //Rough size, only used to split the work.
+		};
+		
+		JSONTasks.run(config, sizes, i -> lines[i] = values[i].stringify(config));
+		
+		for (String line : lines) {
+			writer.write(line);
+			writer.write('\n');
+		};
+		
+	};
+	
+	@Override
+	public void flush() throws IOException {
+		
+		writer.flush();
+		
+	};
+	
+	@Override
+	public void close() throws IOException {
+		
+		writer.close();
+		
+	};
+	
+};
\ No newline at end of file
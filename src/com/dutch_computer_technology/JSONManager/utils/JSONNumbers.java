@@ -0,0 +1,463 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.math.BigInteger;
+
+/**
+ * Conversion between decimal digits &amp; double's/float's,<br>
+ * bit-exact with Double.parseDouble, formatted as the shortest representation that round-trips.<br>
+ * <br>
+ * Parsing uses the Eisel-Lemire algorithm,<br>
+ * formatting uses the Schubfach algorithm of Raffaello Giulietti.
+ */
+final class JSONNumbers {
+	
+	private JSONNumbers() {};
+	
+	//Eisel-Lemire, 128 bit approximations of 5^q (so also 10^q), the most significant bit set.
+	private static final int Q_MIN = -342;
+	private static final int Q_MAX = 308;
+	private static final long[] POWERS_HIGH = new long[Q_MAX - Q_MIN + 1];
+	private static final long[] POWERS_LOW = new long[Q_MAX - Q_MIN + 1];
+	
+	//Schubfach, g = floor(10^-k 2^-r) + 1 with r = flog2pow10(-k) - 125, as g1 2^63 + g0.
+	private static final int K_MIN = -324;
+	private static final int K_MAX = 292;
+	private static final long[] G1 = new long[K_MAX - K_MIN + 1];
+	private static final long[] G0 = new long[K_MAX - K_MIN + 1];
+	
+	private static final long MASK_63 = (1L << 63) - 1;
+	private static final long MASK_32 = (1L << 32) - 1;
+	
+	static {
+		
+		BigInteger five = BigInteger.valueOf(5);
+		for (int q = Q_MIN; q <= Q_MAX; q++) {
+			
+			BigInteger power = five.pow(Math.abs(q));
+			BigInteger c;
+			if (q >= 0) {
+				int shift = power.bitLength() - 128;
+				c = shift > 0 ? power.shiftRight(shift) : power.shiftLeft(-shift); //Truncated.
+			} else {
+				int z = power.subtract(BigInteger.ONE).bitLength();
+				int b = q >= -27 ? z + 127 : 2 * z + 128;
+				c = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE); //Rounded up.
+				if (c.bitLength() > 128) c = c.shiftRight(c.bitLength() - 128);
+			};
+			POWERS_HIGH[q - Q_MIN] = c.shiftRight(64).longValue();
+			POWERS_LOW[q - Q_MIN] = c.longValue();
+			
+		};
+		
+		BigInteger ten = BigInteger.TEN;
+		for (int k = K_MIN; k <= K_MAX; k++) {
+			
+			int r = flog2pow10(-k) - 125;
+			BigInteger g;
+			if (k <= 0) {
+				BigInteger power = ten.pow(-k);
+				g = r >= 0 ? power.shiftRight(r) : power.shiftLeft(-r);
+			} else {
+				g = BigInteger.ONE.shiftLeft(-r).divide(ten.pow(k));
+			};
+			g = g.add(BigInteger.ONE);
+			G1[k - K_MIN] = g.shiftRight(63).longValue();
+			G0[k - K_MIN] = g.longValue() & MASK_63;
+			
+		};
+		
+	};
+	
+	/**
+	 * Create a double from a decimal number, mantissa * 10^exponent.
+	 * 
+	 * @param negative {@code true} When negative.
+	 * @param mantissa The digits, as a unsigned long.
+	 * @param exponent The power of 10.
+	 * @param truncated {@code true} When digits after the mantissa were dropped.
+	 * @return The double, NaN When the slow path is needed.
+	 */
+	static double toDouble(boolean negative, long mantissa, int exponent, boolean truncated) {
+		
+		long bits = eiselLemire(mantissa, exponent, 52, 1023);
+		if (bits < 0) return Double.NaN;
+		if (truncated && bits != eiselLemire(mantissa + 1, exponent, 52, 1023)) return Double.NaN; //Dropped digits could round up.
+		if (negative) bits |= 1L << 63;
+		return Double.longBitsToDouble(bits);
+		
+	};
+	
+	/**
+	 * Create a float from a decimal number, mantissa * 10^exponent.
+	 * 
+	 * @param negative {@code true} When negative.
+	 * @param mantissa The digits, as a unsigned long.
+	 * @param exponent The power of 10.
+	 * @param truncated {@code true} When digits after the mantissa were dropped.
+	 * @return The float, NaN When the slow path is needed.
+	 */
+	static float toFloat(boolean negative, long mantissa, int exponent, boolean truncated) {
+		
+		long bits = eiselLemire(mantissa, exponent, 23, 127);
+		if (bits < 0) return Float.NaN;
+		if (truncated && bits != eiselLemire(mantissa + 1, exponent, 23, 127)) return Float.NaN; //Dropped digits could round up.
+		if (negative) bits |= 1L << 31;
+		return Float.intBitsToFloat((int) bits);
+		
+	};
+	
+	/**
+	 * Eisel-Lemire, the bits of the nearest double or float without sign.
+	 * 
+	 * @param man The digits, as a unsigned long.
+	 * @param exp10 The power of 10.
+	 * @param bits Explicit bits of the mantissa, 52 or 23.
+	 * @param bias Exponent bias, 1023 or 127.
+	 * @return The bits, -1 When not sure.
+	 */
+	private static long eiselLemire(long man, int exp10, int bits, int bias) {
+		
+		if (man == 0) return 0;
+		if (exp10 < Q_MIN || exp10 > Q_MAX) return -1;
+		
+		//Normalize
+		int clz = Long.numberOfLeadingZeros(man);
+		man <<= clz;
+		long exp2 = ((217706L * exp10) >> 16) + 64 + bias - clz;
+		
+		//Multiply
+		int shift = 64 - bits - 3;
+		long mask = (1L << shift) - 1;
+		long high = POWERS_HIGH[exp10 - Q_MIN];
+		long xHi = multiplyHigh(man, high);
+		long xLo = man * high;
+		
+		//Wider approximation, when the lower bits are all ones.
+		if ((xHi & mask) == mask && Long.compareUnsigned(xLo + man, man) < 0) {
+			long low = POWERS_LOW[exp10 - Q_MIN];
+			long yHi = multiplyHigh(man, low);
+			long yLo = man * low;
+			long mergedHi = xHi;
+			long mergedLo = xLo + yHi;
+			if (Long.compareUnsigned(mergedLo, xLo) < 0) mergedHi++;
+			if ((mergedHi & mask) == mask && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + man, man) < 0) return -1;
+			xHi = mergedHi;
+			xLo = mergedLo;
+		};
+		
+		//Shift to bits + 2
+		int msb = (int) (xHi >>> 63);
+		long mantissa = xHi >>> (msb + shift);
+		exp2 -= 1 ^ msb;
+		
+		//Halfway between two values.
+		if (xLo == 0 && (xHi & mask) == 0 && (mantissa & 3) == 1) return -1;
+		
+		//Round to bits + 1
+		mantissa += mantissa & 1;
+		mantissa >>>= 1;
+		if ((mantissa >>> (bits + 1)) > 0) {
+			mantissa >>>= 1;
+			exp2++;
+		};
+		
+		if (exp2 <= 0 || exp2 >= (bias << 1) + 1) return -1; //Subnormal or Infinite.
+		return exp2 << bits | mantissa & ((1L << bits) - 1);
+		
+	};
+	
+	/**
+	 * Append the shortest representation of a double that round-trips,<br>
+	 * in the layout of Double.toString, the digits only match it from Java 19.
+	 * 
+	 * @param str StringBuilder to append to.
+	 * @param v The finite double.
+	 */
+	static void append(StringBuilder str, double v) {
+		
+		long bits = Double.doubleToRawLongBits(v);
+		long t = bits & ((1L << 52) - 1);
+		int bq = (int) (bits >>> 52) & 0x7FF;
+		if (bits < 0) str.append('-');
+		
+		if (bq != 0) {
+			
+			//Normal
+			int mq = 1075 - bq;
+			long c = 1L << 52 | t;
+			if (0 < mq && mq < 53) {
+				long f = c >> mq;
+				if (f << mq == c) { //Integer
+					digits(str, f, 0);
+					return;
+				};
+			};
+			toDecimal(str, -mq, c, 0);
+			return;
+			
+		};
+		
+		if (t == 0) {
+			str.append("0.0");
+			return;
+		};
+		
+		//Subnormal
+		if (t < 3) {
+			toDecimal(str, -1074, 10 * t, -1);
+		} else {
+			toDecimal(str, -1074, t, 0);
+		};
+		
+	};
+	
+	/**
+	 * Schubfach for a double, c * 2^q.
+	 */
+	private static void toDecimal(StringBuilder str, int q, long c, int dk) {
+		
+		int out = (int) c & 1;
+		long cb = c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if (c != 1L << 52 || q == -1074) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		};
+		int h = q + flog2pow10(-k) + 2;
+		
+		long g1 = G1[k - K_MIN];
+		long g0 = G0[k - K_MIN];
+		
+		long vb = rop(g1, g0, cb << h);
+		long vbl = rop(g1, g0, cbl << h);
+		long vbr = rop(g1, g0, cbr << h);
+		
+		long s = vb >> 2;
+		if (s >= 100) {
+			long sp10 = 10 * multiplyHigh(s, 115292150460684698L << 4);
+			long tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) {
+				digits(str, upin ? sp10 : tp10, k);
+				return;
+			};
+		};
+		
+		long t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win) {
+			digits(str, uin ? s : t, k + dk);
+			return;
+		};
+		long cmp = vb - (s + t << 1);
+		digits(str, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+		
+	};
+	
+	private static long rop(long g1, long g0, long cp) {
+		
+		long x1 = multiplyHigh(g0, cp);
+		long y0 = g1 * cp;
+		long y1 = multiplyHigh(g1, cp);
+		long z = (y0 >>> 1) + x1;
+		long vbp = y1 + (z >>> 63);
+		return vbp | (z & MASK_63) + MASK_63 >>> 63;
+		
+	};
+	
+	/**
+	 * Append the shortest representation of a float that round-trips,<br>
+	 * in the layout of Float.toString, the digits only match it from Java 19.
+	 * 
+	 * @param str StringBuilder to append to.
+	 * @param v The finite float.
+	 */
+	static void append(StringBuilder str, float v) {
+		
+		int bits = Float.floatToRawIntBits(v);
+		int t = bits & ((1 << 23) - 1);
+		int bq = (bits >>> 23) & 0xFF;
+		if (bits < 0) str.append('-');
+		
+		if (bq != 0) {
+			
+			//Normal
+			int mq = 150 - bq;
+			int c = 1 << 23 | t;
+			if (0 < mq && mq < 24) {
+				int f = c >> mq;
+				if (f << mq == c) { //Integer
+					digits(str, f, 0);
+					return;
+				};
+			};
+			toDecimal(str, -mq, c, 0);
+			return;
+			
+		};
+		
+		if (t == 0) {
+			str.append("0.0");
+			return;
+		};
+		
+		//Subnormal
+		if (t < 8) {
+			toDecimal(str, -149, 10 * t, -1);
+		} else {
+			toDecimal(str, -149, t, 0);
+		};
+		
+	};
+	
+	/**
+	 * Schubfach for a float, c * 2^q.
+	 */
+	private static void toDecimal(StringBuilder str, int q, int c, int dk) {
+		
+		int out = c & 1;
+		long cb = (long) c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if (c != 1 << 23 || q == -149) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		};
+		int h = q + flog2pow10(-k) + 33;
+		
+		long g = G1[k - K_MIN] + 1;
+		
+		int vb = rop(g, cb << h);
+		int vbl = rop(g, cbl << h);
+		int vbr = rop(g, cbr << h);
+		
+		int s = vb >> 2;
+		if (s >= 100) {
+			int sp10 = 10 * (int) (s * 1717986919L >>> 34);
+			int tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) {
+				digits(str, upin ? sp10 : tp10, k);
+				return;
+			};
+		};
+		
+		int t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win) {
+			digits(str, uin ? s : t, k + dk);
+			return;
+		};
+		int cmp = vb - (s + t << 1);
+		digits(str, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+		
+	};
+	
+	private static int rop(long g, long cp) {
+		
+		long x1 = multiplyHigh(g, cp);
+		long vbp = x1 >>> 31;
+		return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+		
+	};
+	
+	/**
+	 * Append f * 10^e in the layout of Double.toString,<br>
+	 * plain between 10^-3 &amp; 10^7, otherwise scientific.
+	 */
+	private static void digits(StringBuilder str, long f, int e) {
+		
+		while (f % 10 == 0) { //Trailing zeros
+			f /= 10;
+			e++;
+		};
+		
+		char[] digits = new char[19];
+		int n = 0;
+		for (int i = digits.length - 1; f != 0; i--, n++) {
+			digits[i] = (char) ('0' + f % 10);
+			f /= 10;
+		};
+		int first = digits.length - n;
+		int exp = e + n - 1; //Exponent of the first digit.
+		
+		if (exp >= 0 && exp < 7) {
+			
+			if (exp + 1 >= n) {
+				str.append(digits, first, n);
+				for (int i = n; i <= exp; i++) str.append('0');
+				str.append(".0");
+			} else {
+				str.append(digits, first, exp + 1).append('.').append(digits, first + exp + 1, n - exp - 1);
+			};
+			return;
+			
+		};
+		
+		if (exp < 0 && exp >= -3) {
+			
+			str.append("0.");
+			for (int i = -1; i > exp; i--) str.append('0');
+			str.append(digits, first, n);
+			return;
+			
+		};
+		
+		str.append(digits[first]).append('.');
+		if (n == 1) {
+			str.append('0');
+		} else {
+			str.append(digits, first + 1, n - 1);
+		};
+		str.append('E').append(exp);
+		
+	};
+	
+	private static int flog10pow2(int e) {
+		
+		return (int) (e * 661971961083L >> 41);
+		
+	};
+	
+	private static int flog10threeQuartersPow2(int e) {
+		
+		return (int) (e * 661971961083L + -274743187321L >> 41);
+		
+	};
+	
+	private static int flog2pow10(int e) {
+		
+		return (int) (e * 913124641741L >> 38);
+		
+	};
+	
+	/**
+	 * The high 64 bits of the unsigned 128 bit product.
+	 */
+	private static long multiplyHigh(long a, long b) {
+		
+		long a0 = a & MASK_32;
+		long a1 = a >>> 32;
+		long b0 = b & MASK_32;
+		long b1 = b >>> 32;
+		long p01 = a0 * b1;
+		long p10 = a1 * b0;
+		long middle = ((a0 * b0) >>> 32) + (p01 & MASK_32) + (p10 & MASK_32);
+		return a1 * b1 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+		
+	};
+	
+};
\ No newline at end of file
@@ -1,7 +1,13 @@
 package com.dutch_computer_technology.JSONManager.utils;
 
-import java.lang.reflect.Constructor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -10,10 +16,29 @@ import com.dutch_computer_technology.JSONManager.data.JSONObject;
 import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
 
 /**
- * Parser for JSONObject's &amp; JSONArray's
+ * Parser for JSONObject's &amp; JSONArray's,<br>
+ * walks the String or bytes once using a cursor.
  */
 public class JSONParser {
 	
+	private static final long CHUNK_SIZE = 1 << 30; //Mapped per GB when a file is too big for a single mapping.
+	private static final double[] DOUBLE_POWERS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22}; //Exact as a double.
+	private static final float[] FLOAT_POWERS = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f}; //Exact as a float.
+	private static final Object NULL = new Object(); //A selected null, as null means nothing selected when projecting.
+	private static final int PARALLEL_DEPTH = 8; //Members are only split over threads this close to the root.
+	
+	private static final int KEEP_DEPTH = 1024; //A bigger stack is not kept by a reused JSONParser.
+	
+	private JSONSource src;
+	private int end;
+	private JSONConfig config;
+	private int pos;
+	private boolean parallel;
+	private boolean checked; //Syntax already checked, for lazy Values.
+	private int level; //Depth around the parsed characters, for the members parsed in parallel.
+	private Frame[] stack; //Open JSONObject's & JSONArray's.
+	private int depth;
+	
 	//JSONObject
 	/**
 	 * Parse a JSONObject from a String.
@@ -25,365 +50,1122 @@ public class JSONParser {
 	 */
 	public JSONParser(Map<String, Object> data, String str, JSONConfig config) throws JSONParseException {
 		
+		this(str == null ? null : new JSONSource.Chars(str), 0, str == null ? 0 : str.length(), config);
+		
 		if (data == null) throw new JSONParseException("Unexpected Null"); //Should never be Null.
 		if (str == null) throw new JSONParseException("Null"); //No String to parse.
-		if (config == null) config = new JSONConfig();
 		
-		str = JSONUtils.sanitize(str); //Remove any unneeded charaters.
-		if (!(str.startsWith("{") && str.endsWith("}"))) throw new JSONParseException("Not a JSONObject");
+		parseRoot(data, '{');
 		
-		if (str.length() == 2) return; //Just open & close, no need to progress.
+	};
+	
+	/**
+	 * Parse a JSONObject from UTF-8 encoded bytes,<br>
+	 * without decoding them to a String first.
+	 * 
+	 * @param data The Map to store the parsed data.
+	 * @param bytes Bytes to be parsed.
+	 * @param offset Position of the first byte.
+	 * @param length Ammount of bytes.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONParser(Map<String, Object> data, byte[] bytes, int offset, int length, JSONConfig config) throws JSONParseException {
 		
-		str = str.substring(1, str.length()-1);
+		this(bytes == null ? null : new JSONSource.Bytes(bytes), offset, offset + length, config);
 		
-		List<String> objs = new ArrayList<String>();
+		if (data == null) throw new JSONParseException("Unexpected Null"); //Should never be Null.
+		if (bytes == null) throw new JSONParseException("Null"); //No bytes to parse.
+		if (offset < 0 || length < 0 || offset > bytes.length - length) throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
 		
-		StringBuilder open = new StringBuilder();
-		int o = 0;
+		parseRoot(data, '{');
 		
-		for (int i = 0; i < str.length(); i++) {
-			
-			char c = str.charAt(i);
-			if (c == '[' || c == '{') {
-				open.append(c);
-				continue;
-			};
-			
-			if (c == ']' || c == '}') {
-				if (open.length() == 0) throw new JSONParseException("Illegal bracket at " + i);
-				char b = open.charAt(open.length()-1);
-				if (!((c == ']' && b == '[') || (c == '}' && b == '{'))) throw new JSONParseException("Illegal bracket at " + i);
-				open.setLength(open.length()-1);
-			};
+	};
+	
+	//JSONArray
+	/**
+	 * Parse a JSONArray from a String.
+	 * 
+	 * @param data The List to store the parsed data.
+	 * @param str String to be parsed.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONParser(List<Object> data, String str, JSONConfig config) throws JSONParseException {
+		
+		this(str == null ? null : new JSONSource.Chars(str), 0, str == null ? 0 : str.length(), config);
+		
+		if (data == null) throw new JSONParseException("Unexpected Null"); //Should never be Null.
+		if (str == null) throw new JSONParseException("Null"); //No String to parse.
+		
+		parseRoot(data, '[');
+		
+	};
+	
+	/**
+	 * Parse a JSONArray from UTF-8 encoded bytes,<br>
+	 * without decoding them to a String first.
+	 * 
+	 * @param data The List to store the parsed data.
+	 * @param bytes Bytes to be parsed.
+	 * @param offset Position of the first byte.
+	 * @param length Ammount of bytes.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONParser(List<Object> data, byte[] bytes, int offset, int length, JSONConfig config) throws JSONParseException {
+		
+		this(bytes == null ? null : new JSONSource.Bytes(bytes), offset, offset + length, config);
+		
+		if (data == null) throw new JSONParseException("Unexpected Null"); //Should never be Null.
+		if (bytes == null) throw new JSONParseException("Null"); //No bytes to parse.
+		if (offset < 0 || length < 0 || offset > bytes.length - length) throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
+		
+		parseRoot(data, '[');
+		
+	};
+	
+	/**
+	 * Parse a JSONObject from a UTF-8 file,<br>
+	 * the file is memory-mapped &amp; parsed without copying it to the heap.<br>
+	 * <br>
+	 * Files over 2 GB are mapped in chunks &amp; read as a stream,<br>
+	 * only the maxDepth of the config is used for them, they are not lazy or threaded.
+	 * 
+	 * @param data The Map to store the parsed data.
+	 * @param path File to be parsed.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws JSONParseException When parsing fails.
+	 * @throws IOException When reading the file fails.
+	 */
+	public static void read(Map<String, Object> data, Path path, JSONConfig config) throws JSONParseException, IOException {
+		
+		if (data == null) throw new JSONParseException("Unexpected Null"); //Should never be Null.
+		read((Object) data, '{', path, config);
+		
+	};
+	
+	/**
+	 * Parse a JSONArray from a UTF-8 file,<br>
+	 * the file is memory-mapped &amp; parsed without copying it to the heap.<br>
+	 * <br>
+	 * Files over 2 GB are mapped in chunks &amp; read as a stream,<br>
+	 * only the maxDepth of the config is used for them, they are not lazy or threaded.
+	 * 
+	 * @param data The List to store the parsed data.
+	 * @param path File to be parsed.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws JSONParseException When parsing fails.
+	 * @throws IOException When reading the file fails.
+	 */
+	public static void read(List<Object> data, Path path, JSONConfig config) throws JSONParseException, IOException {
+		
+		if (data == null) throw new JSONParseException("Unexpected Null"); //Should never be Null.
+		read((Object) data, '[', path, config);
+		
+	};
+	
+	private static void read(Object data, char open, Path path, JSONConfig config) throws JSONParseException, IOException {
+		
+		if (path == null) throw new JSONParseException("Null"); //No file to parse.
+		
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
 			
-			if (c == '"') {
-				if (open.length() > 0 && open.charAt(open.length()-1) == '"') {
-					if (open.length() == 0) continue;
-					open.setLength(open.length()-1);
-				} else {
-					open.append('"');
-				};
+			long size = channel.size();
+			if (size <= Integer.MAX_VALUE) {
+				
+				ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+				new JSONParser(new JSONSource.Buffer(buffer), 0, (int) size, config).parseRoot(data, open);
+				return;
+				
 			};
 			
-			if (open.length() > 0) continue;
-			
-			if (c == ',') {
-				String buf = str.substring(str.charAt(o) == ',' ? o+1 : o, i);
-				objs.add(buf);
-				o = i;
-				continue;
-			};
+			new JSONReader(new Chunks(channel, size), config).readRoot(data, open);
 			
-			if (i == str.length()-1) {
-				String buf = str.substring(str.charAt(o) == ',' ? o+1 : o);
-				objs.add(buf);
+		};
+		
+	};
+	
+	/**
+	 * Parser for the characters between start &amp; end,<br>
+	 * also used for the members parsed in parallel.
+	 */
+	private JSONParser(JSONSource src, int start, int end, JSONConfig config) {
+		
+		this.src = src;
+		this.end = end;
+		this.config = config == null ? new JSONConfig() : config;
+		this.pos = start;
+		this.parallel = this.config.threaded();
+		
+	};
+	
+	/**
+	 * Reusable parser for a JSONContext,<br>
+	 * the stack of Frames is kept between parses.
+	 */
+	JSONParser() {};
+	
+	/**
+	 * Parse a root JSONObject or JSONArray using this JSONParser again.
+	 * 
+	 * @param data The Map/JSONObject or List/JSONArray to store the parsed data.
+	 * @param open { for a JSONObject, [ for a JSONArray.
+	 * @param src Characters to be parsed.
+	 * @param start Start position, inclusive.
+	 * @param end End position, exclusive.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	void reuse(Object data, char open, JSONSource src, int start, int end, JSONConfig config) throws JSONParseException {
+		
+		this.src = src;
+		this.end = end;
+		this.config = config;
+		this.pos = start;
+		this.parallel = config.threaded();
+		this.checked = false;
+		this.level = 0;
+		this.depth = 0;
+		
+		try {
+			parseRoot(data, open);
+		} finally {
+			for (int i = 0; i < depth; i++) { //Failed, let go of the partly parsed data.
+				stack[i].target = null;
+				stack[i].key = null;
+				stack[i].members = null;
 			};
-			
+			this.depth = 0;
+			this.src = null;
+			this.config = null;
+			if (stack != null && stack.length > KEEP_DEPTH) stack = null;
 		};
 		
-		o = 1; //Offset for { of init
-		List<Loader> loaders = new ArrayList<Loader>();
-		for (String obj : objs) {
-			
-			int closeKey = obj.indexOf("\"", 1);
-			if (closeKey == -1) throw new JSONParseException("Key is not a String at " + o);
-			
-			String key = obj.substring(obj.startsWith("\"") ? 1 : 0, closeKey);
-			if (key.length() == 0) throw new JSONParseException("Key is empty at " + o); //Key should always have a value
-			
-			int separatorIndex = obj.indexOf(":", closeKey);
-			if (separatorIndex == -1) throw new JSONParseException("No Separator at " + o);
+	};
+	
+	/**
+	 * Parse the root JSONObject or JSONArray.
+	 * 
+	 * @param data The Map or List to store the parsed data.
+	 * @param open { for a JSONObject, [ for a JSONArray.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	private void parseRoot(Object data, char open) throws JSONParseException {
+		
+		pos = src.bom(pos, end); //Skip a BOM
+		
+		skipWhitespace();
+		if (pos >= end || src.charAt(pos) != open) throw new JSONParseException(open == '{' ? "Not a JSONObject" : "Not a JSONArray");
+		
+		if (open == '[' && parallel && end - pos >= config.threshold()) {
+			parseIndexed(data);
+		} else {
+			parseContainer(data);
+		};
+		finish();
+		
+	};
+	
+	/**
+	 * Only whitespace may follow the parsed Value.
+	 * 
+	 * @throws JSONParseException When there are characters left.
+	 */
+	private void finish() throws JSONParseException {
+		
+		skipWhitespace();
+		if (pos < end) throw new JSONParseException("Unexpected character at " + pos);
+		
+	};
+	
+	private void skipWhitespace() {
+		
+		pos = src.whitespace(pos, end);
+		
+	};
+	
+	private char peek() throws JSONParseException {
+		
+		if (pos >= end) throw new JSONParseException("Unexpected end at " + pos);
+		return src.charAt(pos);
+		
+	};
+	
+	/**
+	 * Parse the members of a Object or Array, the cursor is on the { or [.<br>
+	 * Nested JSONObject's &amp; JSONArray's are kept on a stack instead of the Java stack,<br>
+	 * so the depth is only limited by the maxDepth of the config.
+	 * 
+	 * @param target The Map/JSONObject or List/JSONArray to store the members.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	private void parseContainer(Object target) throws JSONParseException {
+		
+		int base = depth;
+		push(target);
+		while (depth > base) {
 			
-			String oValue = obj.substring(separatorIndex+1, obj.length());
+			Frame frame = stack[depth-1];
+			char close = frame.object ? '}' : ']';
 			
-			Loader loader = new Loader(key, oValue);
-			loaders.add(loader);
+			skipWhitespace();
+			char c = peek();
+			if (frame.first) {
+				frame.first = false;
+				if (c == close) {
+					pos++;
+					pop(base);
+					continue; //Just open & close, no need to progress.
+				};
+			} else {
+				pos++;
+				if (c == close) {
+					pop(base);
+					continue;
+				};
+				if (c != ',') throw new JSONParseException("Illegal character at " + (pos-1));
+				skipWhitespace();
+			};
 			
-			if (config.threaded()) {
+			String key = null;
+			if (frame.object) {
 				
-				loader.start();
+				if (peek() != '"') throw new JSONParseException("Key is not a String at " + pos);
 				
-			} else {
+				key = parseKey();
+				if (key.length() == 0) throw new JSONParseException("Key is empty at " + pos); //Key should always have a value
 				
-				loader.run();
+				skipWhitespace();
+				if (peek() != ':') throw new JSONParseException("No Separator at " + pos);
+				pos++;
+				skipWhitespace();
 				
 			};
 			
-		};
-		
-		while (true) { //In order
+			if (frame.members != null) {
+				
+				int start = pos;
+				skipValue();
+				frame.members.add(new Member(key, start, pos));
+				continue;
+				
+			};
 			
-			boolean allReady = true;
-			for (Loader loader : loaders) {
+			c = peek();
+			if ((c == '{' || c == '[') && !config.lazy()) {
 				
-				if (loader.getErr() != null) throw loader.getErr();
-				if (!loader.isReady()) allReady = false;
+				frame.key = key;
+				push(c == '{' ? new JSONObject() : new JSONArray());
+				continue;
 				
 			};
-			if (allReady) break;
+			
+			if (frame.object) {
+				put(frame.target, key, parseValue());
+			} else {
+				add(frame.target, parseValue());
+			};
 			
 		};
 		
-		for (Loader loader : loaders) {
+	};
+	
+	/**
+	 * Open a Object or Array, the cursor is on the { or [.
+	 * 
+	 * @param target The Map/JSONObject or List/JSONArray to store the members.
+	 * @throws JSONParseException When deeper than the maxDepth of the config.
+	 */
+	private void push(Object target) throws JSONParseException {
+		
+		if (level + depth >= config.maxDepth()) throw new JSONParseException("Too deep at " + pos);
+		
+		if (stack == null) {
+			stack = new Frame[16];
+		} else if (depth == stack.length) {
+			stack = Arrays.copyOf(stack, depth << 1);
+		};
+		Frame frame = stack[depth];
+		if (frame == null) frame = stack[depth] = new Frame();
+		depth++;
+		
+		frame.target = target;
+		frame.object = src.charAt(pos) == '{';
+		frame.first = true;
+		frame.key = null;
+		frame.members = parallel && level + depth <= PARALLEL_DEPTH ? new ArrayList<Member>() : null; //Deeper ones are split by their parents.
+		pos++; //Skip { or [
+		
+	};
+	
+	/**
+	 * Close the current Object or Array &amp; store it in it's parent.
+	 * 
+	 * @param base Depth of the Object or Array stored by the caller.
+	 * @throws JSONParseException When parsing the members fails.
+	 */
+	private void pop(int base) throws JSONParseException {
+		
+		Frame frame = stack[--depth];
+		Object target = frame.target;
+		List<Member> members = frame.members;
+		frame.target = null;
+		frame.members = null;
+		
+		if (members != null) parseMembers(target, members, level + depth + 1);
+		if (depth == base) return;
+		
+		Frame parent = stack[depth-1];
+		if (parent.object) {
+			put(parent.target, parent.key, target instanceof JSONObject ? JSONBindings.construct((JSONObject) target) : target);
+			parent.key = null;
+		} else {
+			add(parent.target, target instanceof JSONObject ? JSONBindings.construct((JSONObject) target) : target);
+		};
+		
+	};
+	
+	/**
+	 * Parse the elements of the root Array using a JSONIndex, the cursor is on the [.<br>
+	 * Both finding the elements &amp; parsing them is split over the threads of the config.
+	 * 
+	 * @param target The List to store the elements.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	private void parseIndexed(Object target) throws JSONParseException {
+		
+		int[] separators = JSONIndex.build(src, pos, end, config).separators(config);
+		int close = separators[separators.length-1];
+		if (src.charAt(close) != ']') throw new JSONParseException("Illegal character at " + close);
+		
+		List<Member> members = new ArrayList<Member>(separators.length);
+		int start = pos+1;
+		for (int separator : separators) {
+			members.add(new Member(null, start, separator));
+			start = separator+1;
+		};
+		
+		pos = start;
+		if (separators.length == 1) { //Single element or empty.
+			Member member = members.get(0);
+			JSONParser parser = new JSONParser(src, member.start, member.end, config);
+			parser.skipWhitespace();
+			if (parser.pos == member.end) return; //Just open & close, no need to progress.
+		};
+		
+		parseMembers(target, members, 1);
+		
+	};
+	
+	@SuppressWarnings("unchecked")
+	static void put(Object target, String key, Object value) {
+		
+		if (target instanceof JSONObject) {
+			((JSONObject) target).put(key, value);
+			return;
+		};
+		((Map<String, Object>) target).put(key, value);
+		
+	};
+	
+	@SuppressWarnings("unchecked")
+	static void add(Object target, Object value) {
+		
+		if (target instanceof JSONArray) {
+			((JSONArray) target).add(value);
+			return;
+		};
+		((List<Object>) target).add(value);
+		
+	};
+	
+	/**
+	 * Parse the Values of the members found by skipping,<br>
+	 * split over the ForkJoinPool of the config.
+	 * 
+	 * @param target The Map/JSONObject or List/JSONArray to store the members.
+	 * @param members The members in order.
+	 * @param level Depth of the Map/JSONObject or List/JSONArray.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	private void parseMembers(Object target, List<Member> members, int level) throws JSONParseException {
+		
+		int[] sizes = new int[members.size()];
+		for (int i = 0; i < sizes.length; i++) sizes[i] = members.get(i).end - members.get(i).start;
+		
+		JSONTasks.run(config, sizes, i -> {
 			
-			data.put(loader.getKey(), loader.getValue());
+			Member member = members.get(i);
+			JSONParser parser = new JSONParser(src, member.start, member.end, config);
+			parser.parallel = sizes[i] >= config.threshold(); //Only split big members again.
+			parser.checked = checked;
+			parser.level = level;
+			parser.skipWhitespace();
+			member.value = parser.parseValue();
+			parser.finish();
+			
+		});
+		
+		for (Member member : members) { //In order
+			
+			if (member.key == null) {
+				add(target, member.value);
+			} else {
+				put(target, member.key, member.value);
+			};
 			
 		};
 		
 	};
 	
-	//JSONArray
 	/**
-	 * Parse a JSONParser from a String.
+	 * Parse the members of a lazy JSONObject or JSONArray.
 	 * 
-	 * @param data The List to store the parsed data.
-	 * @param str String to be parsed.
+	 * @param target The Map or List to store the parsed data.
+	 * @param src Characters of the parsed String or bytes.
+	 * @param start Position of the { or [.
+	 * @param end Position after the } or ].
 	 * @param config JSONConfig config for Parsing.
 	 * @throws JSONParseException When parsing fails.
 	 */
-	public JSONParser(List<Object> data, String str, JSONConfig config) throws JSONParseException {
+	static void parseLazy(Object target, JSONSource src, int start, int end, JSONConfig config) throws JSONParseException {
 		
-		if (data == null) throw new JSONParseException("Unexpected Null"); //Should never be Null.
-		if (str == null) throw new JSONParseException("Null"); //No String to parse.
-		if (config == null) config = new JSONConfig();
+		JSONParser parser = new JSONParser(src, start, end, config);
+		parser.checked = true;
+		parser.parseContainer(target);
+		parser.finish();
+		
+	};
+	
+	/**
+	 * Parse only the Values selected by a JSONProjection,<br>
+	 * the rest is skipped.
+	 * 
+	 * @param target The Map to store the selected Values.
+	 * @param src Characters to be parsed.
+	 * @param start Start position, inclusive.
+	 * @param end End position, exclusive.
+	 * @param root The root Node of the JSONProjection.
+	 * @param config JSONConfig config for Parsing.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	static void project(Object target, JSONSource src, int start, int end, JSONProjection.Node root, JSONConfig config) throws JSONParseException {
+		
+		JSONParser parser = new JSONParser(src, start, end, config);
+		parser.parallel = false; //Selected Values are small, the skipped ones are not parsed.
+		
+		parser.pos = src.bom(start, end); //Skip a BOM
+		
+		parser.skipWhitespace();
+		if (parser.pos >= end || src.charAt(parser.pos) != '{') throw new JSONParseException("Not a JSONObject");
+		parser.projectObject(target, root);
+		parser.finish();
+		
+	};
+	
+	/**
+	 * Parse the selected Value at the cursor.
+	 * 
+	 * @param node The Node of the Value.
+	 * @return The Value, {@code null} When nothing below it is selected.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	private Object projectValue(JSONProjection.Node node) throws JSONParseException {
 		
-		str = JSONUtils.sanitize(str); //Remove any unneeded charaters.
-		if (!(str.startsWith("[") && str.endsWith("]"))) throw new JSONParseException("Not a JSONArray");
+		if (node.whole()) {
+			Object value = parseValue();
+			return value == null ? NULL : value;
+		};
 		
-		if (str.length() == 2) return; //Just open & close, no need to progress.
+		char c = peek();
+		if (c == '{') {
+			JSONObject json = new JSONObject();
+			return projectObject(json, node) ? json : null;
+		};
+		if (c == '[') {
+			JSONArray json = new JSONArray();
+			return projectArray(json, node) ? json : null;
+		};
 		
-		str = str.substring(1, str.length()-1);
+		skipChecked(); //Not a JSONObject or JSONArray, nothing below it.
+		return null;
 		
-		List<String> objs = new ArrayList<String>();
+	};
+	
+	/**
+	 * Parse the selected members of a Object, the cursor is on the {.
+	 * 
+	 * @param target The Map or JSONObject to store the members.
+	 * @param node The Node of the Object.
+	 * @return {@code true} When a member was selected.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	private boolean projectObject(Object target, JSONProjection.Node node) throws JSONParseException {
 		
-		StringBuilder open = new StringBuilder();
-		int o = 0;
+		boolean found = false;
+		pos++; //Skip {
+		skipWhitespace();
+		if (peek() == '}') {
+			pos++;
+			return false; //Just open & close, no need to progress.
+		};
 		
-		for (int i = 0; i < str.length(); i++) {
+		while (true) {
 			
-			char c = str.charAt(i);
+			skipWhitespace();
+			if (peek() != '"') throw new JSONParseException("Key is not a String at " + pos);
 			
-			if (c == '[' || c == '{') {
-				open.append(c);
-				continue;
-			};
+			String key = parseKey();
+			if (key.length() == 0) throw new JSONParseException("Key is empty at " + pos); //Key should always have a value
 			
-			if (c == ']' || c == '}') {
-				if (open.length() == 0) continue;
-				open.setLength(open.length()-1);
-			};
+			skipWhitespace();
+			if (peek() != ':') throw new JSONParseException("No Separator at " + pos);
+			pos++;
+			skipWhitespace();
 			
-			if (c == '"') {
-				if (open.length() > 0 && open.charAt(open.length()-1) == '"') {
-					if (open.length() == 0) continue;
-					open.setLength(open.length()-1);
-				} else {
-					open.append('"');
+			JSONProjection.Node child = node.child(key);
+			if (child == null) {
+				skipChecked(); //Not selected, the syntax is still checked.
+			} else {
+				Object value = projectValue(child);
+				if (value != null) {
+					put(target, key, value == NULL ? null : value);
+					found = true;
 				};
 			};
 			
-			if (open.length() > 0) continue;
+			skipWhitespace();
+			char c = peek();
+			pos++;
+			if (c == ',') continue;
+			if (c == '}') break;
+			throw new JSONParseException("Illegal character at " + (pos-1));
 			
-			if (c == ',') {
-				String buf = str.substring(str.charAt(o) == ',' ? o+1 : o, i);
-				objs.add(buf);
-				o = i;
-				continue;
-			};
+		};
+		return found;
+		
+	};
+	
+	/**
+	 * Parse the selected elements of a Array, the cursor is on the [.<br>
+	 * Elements before a selected element are {@code null}.
+	 * 
+	 * @param target The List or JSONArray to store the elements.
+	 * @param node The Node of the Array.
+	 * @return {@code true} When a element was selected.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	private boolean projectArray(Object target, JSONProjection.Node node) throws JSONParseException {
+		
+		int added = 0;
+		pos++; //Skip [
+		skipWhitespace();
+		if (peek() == ']') {
+			pos++;
+			return false; //Just open & close, no need to progress.
+		};
+		
+		for (int index = 0; true; index++) {
+			
+			skipWhitespace();
 			
-			if (i == str.length()-1) {
-				String buf = str.substring(str.charAt(o) == ',' ? o+1 : o);
-				objs.add(buf);
+			JSONProjection.Node child = node.child(index);
+			if (child == null) {
+				skipChecked(); //Not selected, the syntax is still checked.
+			} else {
+				Object value = projectValue(child);
+				if (value != null) {
+					for (; added < index; added++) add(target, null); //Keep the index.
+					add(target, value == NULL ? null : value);
+					added++;
+				};
 			};
 			
+			skipWhitespace();
+			char c = peek();
+			pos++;
+			if (c == ',') continue;
+			if (c == ']') break;
+			throw new JSONParseException("Illegal character at " + (pos-1));
+			
 		};
+		return added > 0;
 		
-		List<Loader> loaders = new ArrayList<Loader>();
-		for (String oValue : objs) {
-			
-			Loader loader = new Loader(null, oValue);
-			loaders.add(loader);
+	};
+	
+	/**
+	 * Move the cursor past a Value without building it,<br>
+	 * the syntax is checked just like when parsing.
+	 * 
+	 * @throws JSONParseException When the Value is not valid.
+	 */
+	private void skipChecked() throws JSONParseException {
+		
+		boolean[] objects = new boolean[16]; //Open Objects & Arrays, true for a Object.
+		int open = 0;
+		while (true) {
 			
-			if (config.threaded()) {
+			char c = peek();
+			if (c == '{' || c == '[') {
+				
+				if (level + depth + open >= config.maxDepth()) throw new JSONParseException("Too deep at " + pos);
+				if (open == objects.length) objects = Arrays.copyOf(objects, open << 1);
+				objects[open++] = c == '{';
+				
+				pos++; //Skip { or [
+				skipWhitespace();
+				if (peek() != (c == '{' ? '}' : ']')) {
+					if (c == '{') skipKey();
+					continue; //The first member.
+				};
+				pos++;
+				open--; //Just open & close, no need to progress.
+				
+			} else if (c == '"') {
 				
-				loader.start();
+				skipString();
 				
 			} else {
 				
-				loader.run();
+				int start = pos;
+				skipToken();
+				if (start == pos) throw new JSONParseException("Unexpected Object at " + start);
+				literal(src, start, pos, start);
 				
 			};
 			
-		};
-		
-		while (true) { //In order
-			
-			boolean allReady = true;
-			for (Loader loader : loaders) {
+			//After a Value, close the Objects & Arrays ending here.
+			while (true) {
 				
-				if (loader.getErr() != null) throw loader.getErr();
-				if (!loader.isReady()) allReady = false;
+				if (open == 0) return;
+				boolean object = objects[open-1];
+				
+				skipWhitespace();
+				c = peek();
+				pos++;
+				if (c == ',') {
+					skipWhitespace();
+					if (object) skipKey();
+					break; //The next member.
+				};
+				if (c != (object ? '}' : ']')) throw new JSONParseException("Illegal character at " + (pos-1));
+				open--;
 				
 			};
-			if (allReady) break;
 			
-		};
+		}
 		
-		for (Loader loader : loaders) {
+	};
+	
+	/**
+	 * Move the cursor past a key &amp; separator, the syntax is checked just like when parsing.
+	 * 
+	 * @throws JSONParseException When the key is not valid.
+	 */
+	private void skipKey() throws JSONParseException {
+		
+		if (peek() != '"') throw new JSONParseException("Key is not a String at " + pos);
+		int start = pos;
+		skipString();
+		if (pos - start == 2) throw new JSONParseException("Key is empty at " + pos); //Key should always have a value
+		
+		skipWhitespace();
+		if (peek() != ':') throw new JSONParseException("No Separator at " + pos);
+		pos++;
+		skipWhitespace();
+		
+	};
+	
+	/**
+	 * Move the cursor past a Value without parsing it,<br>
+	 * only brackets &amp; Strings are tracked.
+	 * 
+	 * @throws JSONParseException When the Value is not closed.
+	 */
+	private void skipValue() throws JSONParseException {
+		
+		int depth = 0;
+		do {
 			
-			data.add(loader.getValue());
+			char c = peek();
+			if (c == '"') {
+				skipString();
+				continue;
+			};
+			if (c == '{' || c == '[') {
+				depth++;
+			} else if (c == '}' || c == ']') {
+				depth--;
+			} else if (depth == 0) {
+				skipToken();
+				return;
+			};
+			pos++;
 			
+		} while (depth > 0);
+		
+	};
+	
+	/**
+	 * Move the cursor past a literal or number.
+	 */
+	private void skipToken() {
+		
+		while (pos < end) {
+			char c = src.charAt(pos);
+			if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f') return;
+			pos++;
 		};
 		
 	};
 	
-	private class Loader extends Thread {
+	/**
+	 * Move the cursor past a String, the cursor is on the opening ".
+	 * 
+	 * @return {@code true} When the String contains escapes.
+	 * @throws JSONParseException When the String is not closed.
+	 */
+	private boolean skipString() throws JSONParseException {
 		
-		private String key;
-		private String value;
+		boolean escaped = false;
+		pos++; //Skip "
+		while (true) {
+			pos = src.quote(pos, end);
+			if (pos >= end) break;
+			if (src.charAt(pos++) == '"') return escaped;
+			escaped = true; //Skip the escaped character.
+			pos++;
+		}
+		throw new JSONParseException("String not closed at " + pos);
 		
-		private JSONParseException e;
-		private Object obj;
-		private boolean ready;
+	};
+	
+	/**
+	 * Parse a String, the cursor is on the opening ".
+	 * 
+	 * @return The unescaped String.
+	 * @throws JSONParseException When the String is not closed or a &#92;u is not followed by 4 hex digits.
+	 */
+	private String parseString() throws JSONParseException {
 		
-		public Loader(String key, String value) {
-			
-			this.key = key;
-			this.value = value;
-			
-			this.e = null;
-			this.obj = null;
-			this.ready = false;
-			
-		};
+		int start = pos+1;
+		boolean escaped = skipString();
+		String value = src.string(start, pos-1);
+		return escaped ? JSONUtils.unescape(value, start) : value;
+		
+	};
+	
+	/**
+	 * Parse a key, the cursor is on the opening ".<br>
+	 * Keys without escapes come from the JSONKeys cache.
+	 * 
+	 * @return The unescaped key.
+	 * @throws JSONParseException When the key is not closed or a &#92;u is not followed by 4 hex digits.
+	 */
+	private String parseKey() throws JSONParseException {
+		
+		int start = pos+1;
+		boolean escaped = skipString();
+		if (escaped) return JSONUtils.unescape(src.string(start, pos-1), start);
+		return JSONKeys.key(src, start, pos-1);
 		
-		public String getKey() {
+	};
+	
+	/**
+	 * Reads a file by mapping one chunk at a time.
+	 */
+	private static class Chunks extends InputStream {
+		
+		private final FileChannel channel;
+		private final long size;
+		private long mapped;
+		private ByteBuffer buffer;
+		
+		public Chunks(FileChannel channel, long size) {
 			
-			return (String) this.key;
+			this.channel = channel;
+			this.size = size;
+			this.mapped = 0;
+			this.buffer = ByteBuffer.allocate(0);
 			
 		};
 		
-		public Object getValue() {
+		private boolean next() throws IOException {
 			
-			return this.obj;
+			if (mapped >= size) return false;
+			long length = Math.min(CHUNK_SIZE, size - mapped);
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapped, length);
+			if (mapped == 0 && length >= 3 && (buffer.get(0) & 0xFF) == 0xEF && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF) buffer.position(3); //UTF-8 BOM
+			mapped += length;
+			return true;
 			
 		};
 		
-		public JSONParseException getErr() {
+		@Override
+		public int read() throws IOException {
 			
-			return this.e;
+			if (!buffer.hasRemaining() && !next()) return -1;
+			return buffer.get() & 0xFF;
 			
 		};
 		
-		public boolean isReady() {
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
 			
-			return this.ready;
+			if (len == 0) return 0;
+			if (!buffer.hasRemaining() && !next()) return -1;
+			len = Math.min(len, buffer.remaining());
+			buffer.get(b, off, len);
+			return len;
 			
 		};
 		
-		@Override
-		public void run() {
+	};
+	
+	/**
+	 * A open Object or Array.
+	 */
+	private static class Frame {
+		
+		private Object target;
+		private boolean object;
+		private boolean first; //Nothing parsed yet.
+		private String key; //Key of the nested Value being parsed.
+		private List<Member> members; //Members to parse in parallel.
+		
+	};
+	
+	private static class Member {
+		
+		private final String key;
+		private final int start;
+		private final int end;
+		private Object value;
+		
+		public Member(String key, int start, int end) {
 			
-			try {
-				
-				this.obj = parseValue(this.value);
-				
-			} catch(JSONParseException e) {
-				
-				this.e = e;
-				
-			};
-			this.ready = true;
+			this.key = key;
+			this.start = start;
+			this.end = end;
 			
 		};
 		
 	};
 	
 	/**
-	 * Parse a Value from a String.
+	 * Parse a Value at the cursor.
 	 * 
-	 * @param str String to be parsed.
 	 * @return Returns a Object value.
 	 * @throws JSONParseException
 	 */
-	private Object parseValue(String str) throws JSONParseException {
+	private Object parseValue() throws JSONParseException {
+		
+		char c = peek();
 		
 		//String
-		if (str.startsWith("\"") && str.endsWith("\"") && str.length() > 1) {
-			if (str.length() == 2) return "";
-			return JSONUtils.unescape(str.substring(1, str.length()-1));
+		if (c == '"') return parseString();
+		
+		//Lazy, parsed on first use
+		if ((c == '{' || c == '[') && config.lazy()) {
+			
+			int start = pos;
+			if (checked) {
+				skipValue();
+			} else {
+				skipChecked();
+			};
+			return JSONLazy.create(src, start, pos, config);
+			
 		};
 		
 		//JSONObject
-		if (str.startsWith("{") && str.endsWith("}")) {
+		if (c == '{') {
 			
-			JSONObject json = new JSONObject(str);
-			if (!json.isString("__class")) return json; //Check if __class exists & is a string.
+			JSONObject json = new JSONObject();
+			parseContainer(json);
+			return JSONBindings.construct(json);
 			
-			//Get class.
-			Class<?> cls = null;
-			try {
-				cls = Class.forName(json.getString("__class")); //Get the class.
-			} catch(Exception ignore) {};
-			if (cls == null) return json; //No class, return json.
-			
-			//Try to create a custom class
-			try {
-				Constructor<?> con = cls.getConstructor(JSONObject.class); //Try constructor of class.
-				return con.newInstance(json); //New instance.
-			} catch(Exception ignore) {};
+		};
+		
+		//Array
+		if (c == '[') {
 			
-			return json; //No constructor, return json.
+			JSONArray json = new JSONArray();
+			parseContainer(json);
+			return json;
 			
 		};
 		
-		//Array
-		if (str.startsWith("[") && str.endsWith("]")) return new JSONArray(str);
+		int start = pos;
+		skipToken();
+		if (start == pos) throw new JSONParseException("Unexpected Object at " + start);
+		return literal(src, start, pos, start);
+		
+	};
+	
+	/**
+	 * Parse a Boolean, Null or Number.
+	 * 
+	 * @param str The literal to be parsed.
+	 * @param at Position of the literal, for errors.
+	 * @return Returns a Object value.
+	 * @throws JSONParseException When not a literal.
+	 */
+	static Object literal(String str, long at) throws JSONParseException {
+		
+		return literal(new JSONSource.Chars(str), 0, str.length(), at);
+		
+	};
+	
+	/**
+	 * Parse a Boolean, Null or Number between start &amp; end,<br>
+	 * numbers are scanned once without a regex or substrings.
+	 * 
+	 * @param src Characters of the literal.
+	 * @param start Start position, inclusive.
+	 * @param end End position, exclusive.
+	 * @param at Position of the literal, for errors.
+	 * @return Returns a Object value.
+	 * @throws JSONParseException When not a literal.
+	 */
+	static Object literal(JSONSource src, int start, int end, long at) throws JSONParseException {
+		
+		if (start >= end) throw new JSONParseException("Unexpected Object at " + at);
+		char c = src.charAt(start);
 		
 		//Boolean
-		if (str.equals("true")) return true;
-		if (str.equals("false")) return false;
+		if (c == 't' && matches(src, start, end, "true")) return true;
+		if (c == 'f' && matches(src, start, end, "false")) return false;
 		
 		//Null
-		if (str.equals("null")) return null;
+		if (c == 'n' && matches(src, start, end, "null")) return null;
+		
+		//Numbers, -?\d+(\.\d*)?([eE][+-]?\d+)?[ILDF]?
+		int i = start;
+		boolean negative = c == '-';
+		if (negative) i++;
+		
+		long mantissa = 0;
+		int exponent = 0;
+		boolean overflow = false;
+		int digits = i;
+		for (; i < end && (c = src.charAt(i)) >= '0' && c <= '9'; i++) {
+			if (mantissa < 922337203685477580L) {
+				mantissa = mantissa * 10 + (c - '0');
+			} else {
+				overflow = true;
+				exponent++; //Dropped digit.
+			};
+		};
+		if (i == digits) throw new JSONParseException("Unexpected Object at " + at);
 		
-		//Numbers
-		if (str.matches("^-?\\d+(\\.\\d*)?([eE]-?\\d+)?[ILDF]?$")) {
+		boolean fraction = false;
+		if (i < end && src.charAt(i) == '.') {
+			fraction = true;
+			for (i++; i < end && (c = src.charAt(i)) >= '0' && c <= '9'; i++) {
+				if (mantissa < 922337203685477580L) {
+					mantissa = mantissa * 10 + (c - '0');
+					exponent--;
+				} else {
+					overflow = true;
+				};
+			};
+		};
+		
+		boolean scientific = false;
+		if (i < end && ((c = src.charAt(i)) == 'e' || c == 'E')) {
+			scientific = true;
+			i++;
+			boolean down = i < end && src.charAt(i) == '-';
+			if (i < end && (down || src.charAt(i) == '+')) i++;
+			int e = 0;
+			digits = i;
+			for (; i < end && (c = src.charAt(i)) >= '0' && c <= '9'; i++) {
+				if (e < 100000) e = e * 10 + (c - '0');
+			};
+			if (i == digits) throw new JSONParseException("Unexpected Object at " + at);
+			exponent += down ? -e : e;
+		};
+		
+		char suffix = 0;
+		if (i < end && ((c = src.charAt(i)) == 'I' || c == 'L' || c == 'D' || c == 'F')) {
+			suffix = c;
+			i++;
+		};
+		if (i != end) throw new JSONParseException("Unexpected Object at " + at);
+		int length = suffix == 0 ? end - start : end - start - 1;
+		
+		try {
 			
-			try {
-				
-				char suffix = str.charAt(str.length() - 1);
-				String num = str;
-				if (suffix == 'I' || suffix == 'L' || suffix == 'D' || suffix == 'F') num = str.substring(0, str.length()-1);
-				
-				if (num.equals("null")) return null;
-				
-				switch(suffix) {
-					//Integer
-					case 'I':
-						return Integer.parseInt(num);
-					//Long
-					case 'L':
-						return Long.parseLong(num);
-					//Double
-					case 'D':
-						return Double.parseDouble(num);
-					//Float
-					case 'F':
-						return Float.parseFloat(num);
-					//default, Long/Double
-					default:
-						if (num.contains(".")) return Double.parseDouble(num);
-						return Long.parseLong(num);
-				}
-				
-			} catch(NumberFormatException e) {
-				throw new JSONParseException("NumberFormatException");
+			switch(suffix) {
+				//Integer
+				case 'I':
+					if (fraction || scientific || overflow || mantissa > Integer.MAX_VALUE + 1L) return Integer.parseInt(src.string(start, start + length));
+					if (!negative && mantissa > Integer.MAX_VALUE) return Integer.parseInt(src.string(start, start + length));
+					return (int) (negative ? -mantissa : mantissa);
+				//Long
+				case 'L':
+					if (fraction || scientific || overflow) return Long.parseLong(src.string(start, start + length));
+					return negative ? -mantissa : mantissa;
+				//Float
+				case 'F':
+					if (!overflow && mantissa <= 1 << 24 && exponent >= -10 && exponent <= 10) {
+						float value = exponent < 0 ? (float) mantissa / FLOAT_POWERS[-exponent] : (float) mantissa * FLOAT_POWERS[exponent];
+						return negative ? -value : value;
+					};
+					float value = JSONNumbers.toFloat(negative, mantissa, exponent, overflow);
+					if (value == value) return value; //Not NaN
+					return Float.parseFloat(src.string(start, start + length));
+				//Double
+				case 'D':
+					return toDouble(src, start, length, negative, mantissa, exponent, overflow);
+				//default, Long/Double
+				default:
+					if (fraction || scientific) return toDouble(src, start, length, negative, mantissa, exponent, overflow);
+					if (overflow) return Long.parseLong(src.string(start, start + length));
+					return negative ? -mantissa : mantissa;
 			}
 			
+		} catch(NumberFormatException e) {
+			throw new JSONParseException("NumberFormatException");
+		}
+		
+	};
+	
+	/**
+	 * Create a Double from the scanned digits,<br>
+	 * exact when the mantissa &amp; power of 10 both fit a double,<br>
+	 * otherwise using Eisel-Lemire &amp; only Double.parseDouble when that is not sure.
+	 * 
+	 * @param src Characters of the number.
+	 * @param start Start position of the number.
+	 * @param length Ammount of characters, without suffix.
+	 * @param negative {@code true} When starting with a -.
+	 * @param mantissa The digits, without the dot.
+	 * @param exponent The power of 10 to multiply the mantissa with.
+	 * @param overflow {@code true} When the digits didn't fit the mantissa.
+	 * @return The Double.
+	 */
+	private static double toDouble(JSONSource src, int start, int length, boolean negative, long mantissa, int exponent, boolean overflow) {
+		
+		if (!overflow && mantissa <= 1L << 53 && exponent >= -22 && exponent <= 22) {
+			double value = exponent < 0 ? (double) mantissa / DOUBLE_POWERS[-exponent] : (double) mantissa * DOUBLE_POWERS[exponent];
+			return negative ? -value : value;
 		};
+		double value = JSONNumbers.toDouble(negative, mantissa, exponent, overflow);
+		if (value == value) return value; //Not NaN
+		return Double.parseDouble(src.string(start, start + length));
+		
+	};
+	
+	private static boolean matches(JSONSource src, int start, int end, String word) {
 		
-		throw new JSONParseException("Unexpected Object");
+		if (end - start != word.length()) return false;
+		for (int i = 0; i < word.length(); i++) {
+			if (src.charAt(start + i) != word.charAt(i)) return false;
+		};
+		return true;
 		
 	};
 	
@@ -0,0 +1,581 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.dutch_computer_technology.JSONManager.data.JSONArray;
+import com.dutch_computer_technology.JSONManager.data.JSONObject;
+import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+
+/**
+ * Compiled path query, a subset of JSONPath.<br>
+ * <br>
+ * {@code $} the root, {@code .key} or {@code ['key']} a key, {@code [3]} a element,<br>
+ * {@code .*} or {@code [*]} every member, {@code ..key} or {@code ..*} at any depth,<br>
+ * {@code [?(@.key)]} members with the key &amp; {@code [?(@.key == 'a')]} compared with {@code == != < <= > >=}.<br>
+ * <br>
+ * A query runs on a parsed JSONObject/JSONArray or directly on a JSONReader,<br>
+ * where members not matching are skipped &amp; matches are read when reached.<br>
+ * Both match on the JSON as written &amp; pass on a custom class when a matched JSONObject has a usable __class.<br>
+ * Queries are immutable, compiled ones are cached &amp; can be used by many Threads.
+ */
+public final class JSONPath {
+	
+	private static final int MAX_CACHED = 1024; //Compiled queries, cleared when full.
+	private static final Map<String, JSONPath> CACHE = new ConcurrentHashMap<String, JSONPath>();
+	
+	//Step types
+	private static final int KEY = 0;
+	private static final int INDEX = 1;
+	private static final int ANY = 2;
+	private static final int DESCENT = 3;
+	private static final int FILTER = 4;
+	
+	private final String path;
+	private final Step[] steps;
+	
+	private JSONPath(String path, Step[] steps) {
+		
+		this.path = path;
+		this.steps = steps;
+		
+	};
+	
+	/**
+	 * Compile a path, or get it from the cache when compiled before.
+	 * 
+	 * @param path The path, starting with $.
+	 * @return The JSONPath.
+	 * @throws IllegalArgumentException When the path is not valid.
+	 */
+	public static JSONPath compile(String path) {
+		
+		if (path == null) throw new IllegalArgumentException("Null");
+		JSONPath compiled = CACHE.get(path);
+		if (compiled != null) return compiled;
+		
+		List<Step> steps = new ArrayList<Step>();
+		int end = new Compiler(path).steps(steps, '$');
+		if (end != path.length()) throw new IllegalArgumentException("Unexpected character at " + end + " in " + path);
+		compiled = new JSONPath(path, steps.toArray(new Step[0]));
+		
+		if (CACHE.size() >= MAX_CACHED) CACHE.clear();
+		CACHE.put(path, compiled);
+		return compiled;
+		
+	};
+	
+	/**
+	 * Find the matches in a parsed JSONObject or JSONArray.
+	 * 
+	 * @param json The root Value.
+	 * @return The matches in order.
+	 */
+	public List<Object> select(Object json) {
+		
+		List<Object> matches = new ArrayList<Object>();
+		select(json, matches::add);
+		return matches;
+		
+	};
+	
+	/**
+	 * Find the matches in a parsed JSONObject or JSONArray.
+	 * 
+	 * @param json The root Value.
+	 * @param match Called for every match, in order.
+	 */
+	public void select(Object json, Consumer<Object> match) {
+		
+		tree(json, 0, match);
+		
+	};
+	
+	/**
+	 * Find the matches while reading the next Value of a JSONReader.
+	 * 
+	 * @param reader The JSONReader, before the root Value.
+	 * @return The matches in order.
+	 * @throws JSONParseException When the input is not valid JSON.
+	 * @throws IOException When reading fails.
+	 */
+	public List<Object> select(JSONReader reader) throws JSONParseException, IOException {
+		
+		List<Object> matches = new ArrayList<Object>();
+		select(reader, matches::add);
+		return matches;
+		
+	};
+	
+	/**
+	 * Find the matches while reading the next Value of a JSONReader,<br>
+	 * every match is passed on as soon as it is read.
+	 * 
+	 * @param reader The JSONReader, before the root Value.
+	 * @param match Called for every match, in order.
+	 * @throws JSONParseException When the input is not valid JSON.
+	 * @throws IOException When reading fails.
+	 */
+	public void select(JSONReader reader, Consumer<Object> match) throws JSONParseException, IOException {
+		
+		stream(reader, 0, match);
+		
+	};
+	
+	/**
+	 * Match the steps from step on a parsed Value.
+	 */
+	private void tree(Object value, int step, Consumer<Object> match) {
+		
+		if (step == steps.length) {
+			match.accept(value instanceof JSONObject ? JSONBindings.construct((JSONObject) value) : value); //Like read from a JSONReader.
+			return;
+		};
+		
+		Step s = steps[step];
+		if (value instanceof JSONObject) {
+			
+			JSONObject json = (JSONObject) value;
+			if (s.type == KEY) {
+				if (json.hasKey(s.key)) tree(json.get(s.key), step+1, match);
+				return;
+			};
+			if (s.type == INDEX) return;
+			for (String key : json.keySet()) member(key, json.get(key), step, match);
+			
+		} else if (value instanceof JSONArray) {
+			
+			JSONArray json = (JSONArray) value;
+			if (s.type == INDEX) {
+				if (s.index < json.size()) tree(json.get(s.index), step+1, match);
+				return;
+			};
+			if (s.type == KEY) return;
+			for (int i = 0; i < json.size(); i++) member(null, json.get(i), step, match);
+			
+		};
+		
+	};
+	
+	/**
+	 * Match a member for the steps ANY, DESCENT &amp; FILTER.
+	 */
+	private void member(String key, Object value, int step, Consumer<Object> match) {
+		
+		Step s = steps[step];
+		if (s.type == ANY) {
+			tree(value, step+1, match);
+		} else if (s.type == FILTER) {
+			if (s.filter.test(value)) tree(value, step+1, match);
+		} else if (s.type == DESCENT) {
+			if (s.key == null || s.key.equals(key)) tree(value, step+1, match);
+			tree(value, step, match); //Deeper
+		};
+		
+	};
+	
+	/**
+	 * Match the steps from step on the next Value of a JSONReader,<br>
+	 * the Value is read completely when matched &amp; skipped when not.
+	 */
+	private void stream(JSONReader reader, int step, Consumer<Object> match) throws JSONParseException, IOException {
+		
+		if (step == steps.length) {
+			match.accept(reader.readValue());
+			return;
+		};
+		
+		Step s = steps[step];
+		JSONToken token = reader.nextToken();
+		if (token == JSONToken.BEGIN_OBJECT) {
+			
+			if (s.type == INDEX) {
+				reader.skipValue();
+				return;
+			};
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String key = reader.name();
+				if (s.type == KEY) {
+					if (s.key.equals(key)) {
+						stream(reader, step+1, match);
+					} else {
+						reader.skipValue();
+					};
+				} else {
+					member(reader, key, step, match);
+				};
+			};
+			reader.endObject();
+			
+		} else if (token == JSONToken.BEGIN_ARRAY) {
+			
+			if (s.type == KEY) {
+				reader.skipValue();
+				return;
+			};
+			reader.beginArray();
+			for (int i = 0; reader.hasNext(); i++) {
+				if (s.type == INDEX) {
+					if (s.index == i) {
+						stream(reader, step+1, match);
+					} else {
+						reader.skipValue();
+					};
+				} else {
+					member(reader, null, step, match);
+				};
+			};
+			reader.endArray();
+			
+		} else {
+			
+			reader.skipValue(); //Nothing below a String, Number, Boolean or Null.
+			
+		};
+		
+	};
+	
+	/**
+	 * Match the next member of a JSONReader for the steps ANY, DESCENT &amp; FILTER,<br>
+	 * members needed by more then one step are read to match them on the parsed Value.
+	 */
+	private void member(JSONReader reader, String key, int step, Consumer<Object> match) throws JSONParseException, IOException {
+		
+		Step s = steps[step];
+		if (s.type == ANY) {
+			stream(reader, step+1, match);
+		} else if (s.type == FILTER) {
+			Object value = read(reader);
+			if (s.filter.test(value)) tree(value, step+1, match);
+		} else if (s.key != null && !s.key.equals(key)) {
+			stream(reader, step, match); //DESCENT, look deeper.
+		} else {
+			Object value = read(reader); //DESCENT match, also look deeper inside it.
+			tree(value, step+1, match);
+			tree(value, step, match);
+		};
+		
+	};
+	
+	/**
+	 * Read the next Value of a JSONReader to match it on the parsed Value,<br>
+	 * a JSONObject is kept as is, just like in a parsed JSONObject/JSONArray.
+	 */
+	private Object read(JSONReader reader) throws JSONParseException, IOException {
+		
+		if (reader.nextToken() == JSONToken.BEGIN_OBJECT) return reader.readObject(); //No custom class yet, that's up to the match.
+		return reader.readValue();
+		
+	};
+	
+	@Override
+	public String toString() {
+		
+		return path;
+		
+	};
+	
+	/**
+	 * A single step of the path.
+	 */
+	private static final class Step {
+		
+		private final int type;
+		private final String key;
+		private final int index;
+		private final Filter filter;
+		
+		public Step(int type, String key, int index, Filter filter) {
+			
+			this.type = type;
+			this.key = key;
+			this.index = index;
+			this.filter = filter;
+			
+		};
+		
+	};
+	
+	/**
+	 * Filter of a [?()] step, {@code @} is the member.
+	 */
+	private static final class Filter {
+		
+		private final Step[] steps; //Keys & elements only.
+		private final String operator; //null for only checking if it exists.
+		private final Object operand;
+		
+		public Filter(Step[] steps, String operator, Object operand) {
+			
+			this.steps = steps;
+			this.operator = operator;
+			this.operand = operand;
+			
+		};
+		
+		private boolean test(Object value) {
+			
+			for (Step step : steps) {
+				if (step.type == KEY && value instanceof JSONObject && ((JSONObject) value).hasKey(step.key)) {
+					value = ((JSONObject) value).get(step.key);
+				} else if (step.type == INDEX && value instanceof JSONArray && step.index < ((JSONArray) value).size()) {
+					value = ((JSONArray) value).get(step.index);
+				} else {
+					return false; //Missing
+				};
+			};
+			if (operator == null) return true;
+			
+			int compared;
+			if (value instanceof Number && operand instanceof Number) {
+				compared = compare((Number) value, (Number) operand);
+			} else if (value instanceof String && operand instanceof String) {
+				compared = ((String) value).compareTo((String) operand);
+			} else {
+				boolean equal = value == null ? operand == null : value.equals(operand);
+				if (operator.equals("==")) return equal;
+				if (operator.equals("!=")) return !equal;
+				return false; //Not comparable
+			};
+			
+			switch (operator) {
+				case "==": return compared == 0;
+				case "!=": return compared != 0;
+				case "<": return compared < 0;
+				case "<=": return compared <= 0;
+				case ">": return compared > 0;
+				default: return compared >= 0;
+			}
+			
+		};
+		
+		/**
+		 * Compare 2 Numbers exactly,<br>
+		 * a Double or Float counts as the shortest decimal that round-trips, like it is stringified.
+		 */
+		private static int compare(Number a, Number b) {
+			
+			if (integral(a) && integral(b)) return Long.compare(a.longValue(), b.longValue());
+			BigDecimal x = decimal(a), y = decimal(b);
+			if (x == null || y == null) return Double.compare(a.doubleValue(), b.doubleValue()); //NaN or Infinity
+			return x.compareTo(y);
+			
+		};
+		
+		private static boolean integral(Number n) {
+			
+			return n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte;
+			
+		};
+		
+		private static BigDecimal decimal(Number n) {
+			
+			if (n instanceof BigDecimal) return (BigDecimal) n;
+			if (n instanceof BigInteger) return new BigDecimal((BigInteger) n);
+			if (integral(n)) return BigDecimal.valueOf(n.longValue());
+			double d = n.doubleValue();
+			if (Double.isNaN(d) || Double.isInfinite(d)) return null;
+			StringBuilder str = new StringBuilder(24);
+			if (n instanceof Float) {
+				JSONNumbers.append(str, n.floatValue());
+			} else {
+				JSONNumbers.append(str, d);
+			};
+			return new BigDecimal(str.toString());
+			
+		};
+		
+	};
+	
+	/**
+	 * Reads the steps of a path.
+	 */
+	private static final class Compiler {
+		
+		private final String path;
+		private int pos;
+		
+		public Compiler(String path) {
+			
+			this.path = path;
+			this.pos = 0;
+			
+		};
+		
+		private IllegalArgumentException error(String message) {
+			
+			return new IllegalArgumentException(message + " at " + pos + " in " + path);
+			
+		};
+		
+		private void skipWhitespace() {
+			
+			while (pos < path.length() && path.charAt(pos) == ' ') pos++;
+			
+		};
+		
+		/**
+		 * Read steps until a character that can not continue the path.
+		 * 
+		 * @param steps The List to add the steps to.
+		 * @param root $ for a path, @ for a filter.
+		 * @return The position after the steps.
+		 */
+		private int steps(List<Step> steps, char root) {
+			
+			if (pos >= path.length() || path.charAt(pos) != root) throw error("Expected " + root);
+			pos++;
+			
+			while (pos < path.length()) {
+				
+				char c = path.charAt(pos);
+				if (path.startsWith("..", pos)) {
+					
+					pos += 2;
+					if (pos < path.length() && path.charAt(pos) == '*') {
+						pos++;
+						steps.add(new Step(DESCENT, null, 0, null));
+					} else {
+						steps.add(new Step(DESCENT, name(), 0, null));
+					};
+					
+				} else if (c == '.') {
+					
+					pos++;
+					if (pos < path.length() && path.charAt(pos) == '*') {
+						pos++;
+						steps.add(new Step(ANY, null, 0, null));
+					} else {
+						steps.add(new Step(KEY, name(), 0, null));
+					};
+					
+				} else if (c == '[') {
+					
+					pos++;
+					skipWhitespace();
+					steps.add(bracket());
+					skipWhitespace();
+					if (pos >= path.length() || path.charAt(pos) != ']') throw error("Expected ]");
+					pos++;
+					
+				} else {
+					break;
+				};
+				
+			};
+			return pos;
+			
+		};
+		
+		private String name() {
+			
+			int start = pos;
+			while (pos < path.length()) {
+				char c = path.charAt(pos);
+				if (c == '.' || c == '[' || c == ']' || c == ' ' || c == ')' || c == '=' || c == '!' || c == '<' || c == '>') break;
+				pos++;
+			};
+			if (start == pos) throw error("Empty key");
+			return path.substring(start, pos);
+			
+		};
+		
+		/**
+		 * Read the inside of [ ].
+		 */
+		private Step bracket() {
+			
+			if (pos >= path.length()) throw error("Not closed");
+			char c = path.charAt(pos);
+			
+			if (c == '*') {
+				pos++;
+				return new Step(ANY, null, 0, null);
+			};
+			
+			if (c == '\'' || c == '"') return new Step(KEY, quoted(), 0, null);
+			
+			if (c == '?') {
+				
+				pos++;
+				skipWhitespace();
+				if (pos >= path.length() || path.charAt(pos) != '(') throw error("Expected (");
+				pos++;
+				skipWhitespace();
+				
+				List<Step> steps = new ArrayList<Step>();
+				steps(steps, '@');
+				for (Step step : steps) if (step.type != KEY && step.type != INDEX) throw error("Only keys & elements in a filter");
+				skipWhitespace();
+				
+				String operator = null;
+				Object operand = null;
+				for (String op : new String[] {"==", "!=", "<=", ">=", "<", ">"}) {
+					if (!path.startsWith(op, pos)) continue;
+					operator = op;
+					pos += op.length();
+					skipWhitespace();
+					operand = literal();
+					skipWhitespace();
+					break;
+				};
+				
+				if (pos >= path.length() || path.charAt(pos) != ')') throw error("Expected )");
+				pos++;
+				return new Step(FILTER, null, 0, new Filter(steps.toArray(new Step[0]), operator, operand));
+				
+			};
+			
+			int start = pos;
+			while (pos < path.length() && Character.isDigit(path.charAt(pos))) pos++;
+			if (start == pos) throw error("Expected a index");
+			try {
+				return new Step(INDEX, null, Integer.parseInt(path.substring(start, pos)), null);
+			} catch (NumberFormatException e) {
+				throw error("Index too big");
+			}
+			
+		};
+		
+		private String quoted() {
+			
+			char quote = path.charAt(pos++);
+			StringBuilder str = new StringBuilder();
+			while (pos < path.length() && path.charAt(pos) != quote) {
+				char c = path.charAt(pos++);
+				if (c == '\\' && pos < path.length()) c = path.charAt(pos++);
+				str.append(c);
+			};
+			if (pos >= path.length()) throw error("String not closed");
+			pos++;
+			return str.toString();
+			
+		};
+		
+		private Object literal() {
+			
+			if (pos >= path.length()) throw error("Expected a Value");
+			char c = path.charAt(pos);
+			if (c == '\'' || c == '"') return quoted();
+			
+			int start = pos;
+			while (pos < path.length() && path.charAt(pos) != ')' && path.charAt(pos) != ' ') pos++;
+			String token = path.substring(start, pos);
+			try {
+				return JSONParser.literal(token, start);
+			} catch (JSONParseException e) {
+				throw error("Not a Value");
+			}
+			
+		};
+		
+	};
+	
+};
\ No newline at end of file
@@ -0,0 +1,218 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.dutch_computer_technology.JSONManager.data.JSONObject;
+import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+
+/**
+ * Key paths to be parsed, everything else is skipped.<br>
+ * <br>
+ * Paths like {@code user.id} or {@code a.b[3].c} select a Value,<br>
+ * {@code [*]} selects every element &amp; {@code ["a.b"]} a key with special characters.<br>
+ * Skipped Values are only bracket matched, their Strings &amp; numbers are not converted.<br>
+ * <br>
+ * The result is a sparse JSONObject with only the selected Values on their path,<br>
+ * elements before a selected element are {@code null} so it keeps it's index.<br>
+ * A JSONProjection can be reused for many documents &amp; by many Threads.
+ */
+public final class JSONProjection {
+	
+	private final Node root;
+	
+	/**
+	 * Create a JSONProjection for the given key paths.
+	 * 
+	 * @param paths The key paths.
+	 * @throws IllegalArgumentException When a path is not valid.
+	 */
+	public JSONProjection(String... paths) {
+		
+		this.root = new Node();
+		for (String path : paths) compile(root, path);
+		
+	};
+	
+	/**
+	 * Parse the selected Values of a JSONObject from a String.
+	 * 
+	 * @param str String to be parsed.
+	 * @return The sparse JSONObject.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONObject parse(String str) throws JSONParseException {
+		
+		return parse(str, null);
+		
+	};
+	
+	/**
+	 * Parse the selected Values of a JSONObject from a String.
+	 * 
+	 * @param str String to be parsed.
+	 * @param config JSONConfig config for Parsing.
+	 * @return The sparse JSONObject.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONObject parse(String str, JSONConfig config) throws JSONParseException {
+		
+		if (str == null) throw new JSONParseException("Null"); //No String to parse.
+		JSONObject json = new JSONObject();
+		JSONParser.project(json, new JSONSource.Chars(str), 0, str.length(), root, config);
+		return json;
+		
+	};
+	
+	/**
+	 * Parse the selected Values of a JSONObject from UTF-8 encoded bytes.
+	 * 
+	 * @param bytes Bytes to be parsed.
+	 * @return The sparse JSONObject.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONObject parse(byte[] bytes) throws JSONParseException {
+		
+		return parse(bytes, null);
+		
+	};
+	
+	/**
+	 * Parse the selected Values of a JSONObject from UTF-8 encoded bytes.
+	 * 
+	 * @param bytes Bytes to be parsed.
+	 * @param config JSONConfig config for Parsing.
+	 * @return The sparse JSONObject.
+	 * @throws JSONParseException When parsing fails.
+	 */
+	public JSONObject parse(byte[] bytes, JSONConfig config) throws JSONParseException {
+		
+		if (bytes == null) throw new JSONParseException("Null"); //No bytes to parse.
+		JSONObject json = new JSONObject();
+		JSONParser.project(json, new JSONSource.Bytes(bytes), 0, bytes.length, root, config);
+		return json;
+		
+	};
+	
+	/**
+	 * Add a path to the tree of Nodes.
+	 * 
+	 * @param root The root Node.
+	 * @param path The key path.
+	 * @throws IllegalArgumentException When the path is not valid.
+	 */
+	private static void compile(Node root, String path) {
+		
+		if (path == null || path.isEmpty()) throw new IllegalArgumentException("Empty path");
+		
+		Node node = root;
+		int i = 0;
+		while (i < path.length()) {
+			
+			char c = path.charAt(i);
+			if (path.startsWith("[\"", i)) {
+				
+				int close = path.indexOf("\"]", i+2);
+				if (close < 0) throw new IllegalArgumentException("Not closed at " + i + " in " + path);
+				node = node.key(path.substring(i+2, close));
+				i = close + 2;
+				
+			} else if (c == '[') {
+				
+				int close = path.indexOf(']', i);
+				if (close < 0) throw new IllegalArgumentException("Not closed at " + i + " in " + path);
+				String index = path.substring(i+1, close);
+				if (index.equals("*")) {
+					if (node.any == null) node.any = new Node();
+					node = node.any;
+				} else {
+					try {
+						node = node.index(Integer.parseInt(index));
+					} catch (NumberFormatException e) {
+						throw new IllegalArgumentException("Not a index at " + i + " in " + path);
+					};
+				};
+				i = close + 1;
+				
+			} else {
+				
+				if (c == '.') {
+					if (node == root) throw new IllegalArgumentException("Unexpected . at " + i + " in " + path);
+					i++;
+				};
+				int start = i;
+				while (i < path.length() && path.charAt(i) != '.' && path.charAt(i) != '[') i++;
+				if (start == i) throw new IllegalArgumentException("Empty key at " + i + " in " + path);
+				node = node.key(path.substring(start, i));
+				
+			};
+			
+		};
+		if (node == root) throw new IllegalArgumentException("Empty path");
+		node.whole = true;
+		
+	};
+	
+	/**
+	 * A step of the paths,<br>
+	 * either the whole Value is selected or only the keys &amp; elements below it.
+	 */
+	static final class Node {
+		
+		private final Map<String, Node> keys = new HashMap<String, Node>();
+		private final Map<Integer, Node> indexes = new HashMap<Integer, Node>();
+		private Node any;
+		private boolean whole;
+		
+		private Node key(String key) {
+			
+			return keys.computeIfAbsent(key, k -> new Node());
+			
+		};
+		
+		private Node index(int index) {
+			
+			if (index < 0) throw new IllegalArgumentException("Negative index " + index);
+			return indexes.computeIfAbsent(index, k -> new Node());
+			
+		};
+		
+		/**
+		 * Get the Node of a key.
+		 * 
+		 * @param key The key.
+		 * @return The Node, {@code null} When not selected.
+		 */
+		Node child(String key) {
+			
+			return keys.get(key);
+			
+		};
+		
+		/**
+		 * Get the Node of a element.
+		 * 
+		 * @param index The index.
+		 * @return The Node, {@code null} When not selected.
+		 */
+		Node child(int index) {
+			
+			Node node = indexes.get(index);
+			return node == null ? any : node;
+			
+		};
+		
+		/**
+		 * Check if the whole Value is selected.
+		 * 
+		 * @return {@code true} When the Value is parsed like normal.
+		 */
+		boolean whole() {
+			
+			return whole;
+			
+		};
+		
+	};
+	
+};
\ No newline at end of file
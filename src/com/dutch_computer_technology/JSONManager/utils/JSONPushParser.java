@@ -0,0 +1,445 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.nio.ByteBuffer;
+
+import com.dutch_computer_technology.JSONManager.data.JSONArray;
+import com.dutch_computer_technology.JSONManager.data.JSONObject;
+import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+
+/**
+ * Incremental parser fed with chunks of UTF-8 bytes as they arrive,<br>
+ * for example ByteBuffer's read by a non-blocking Channel.<br>
+ * <br>
+ * Every chunk is parsed right away, a String, key or number split over chunks is kept until it ends,<br>
+ * so the whole input never has to be in memory at once.<br>
+ * {@link #feed(ByteBuffer)} returns {@code true} once the root JSONObject or JSONArray is complete.
+ */
+public class JSONPushParser {
+	
+	private static final int WORK_SIZE = 8192; //Bytes copied from a ByteBuffer at once.
+	
+	//States
+	private static final int ROOT = 0; //Before the root.
+	private static final int VALUE = 1; //Before a Value, after a : or ,
+	private static final int ARRAY_FIRST = 2; //After [
+	private static final int ARRAY_NEXT = 3; //After a element.
+	private static final int OBJECT_FIRST = 4; //After {
+	private static final int OBJECT_KEY = 5; //Before a key, after ,
+	private static final int COLON = 6; //After a key.
+	private static final int OBJECT_NEXT = 7; //After a member.
+	private static final int STRING = 8; //Inside a String or key.
+	private static final int LITERAL = 9; //Inside a Boolean, Null or Number.
+	private static final int DONE = 10; //After the root.
+	private static final int BOM = 11; //Inside a UTF-8 BOM, the offset is the ammount of it's bytes seen.
+	
+	private int state;
+	private long offset; //Position of the next byte.
+	
+	private Object[] stack; //Open JSONObject's & JSONArray's.
+	private String[] keys; //Key of the member being parsed, per JSONObject.
+	private int depth;
+	private final int maxDepth;
+	private Object result;
+	
+	private byte[] scratch; //Bytes of the current String, key or literal.
+	private JSONSource scratchSource;
+	private int length;
+	private boolean key; //The String is a key.
+	private boolean escaped; //The String has escapes.
+	private boolean escape; //The next byte is escaped.
+	private long start; //Position of the current token, for errors.
+	
+	private byte[] work;
+	
+	/**
+	 * Create a JSONPushParser for a JSONObject or JSONArray.
+	 */
+	public JSONPushParser() {
+		
+		this(null);
+		
+	};
+	
+	/**
+	 * Create a JSONPushParser for a JSONObject or JSONArray.
+	 * 
+	 * @param config JSONConfig config for Parsing, only the maxDepth is used.
+	 */
+	public JSONPushParser(JSONConfig config) {
+		
+		this.maxDepth = config == null ? JSONUtils.maxDepth() : config.maxDepth();
+		this.stack = new Object[16];
+		this.keys = new String[16];
+		this.scratch = new byte[64];
+		this.scratchSource = new JSONSource.Bytes(scratch);
+		reset();
+		
+	};
+	
+	/**
+	 * Reset the JSONPushParser to parse the next input,<br>
+	 * the buffers are reused.
+	 */
+	public void reset() {
+		
+		state = ROOT;
+		offset = 0;
+		for (int i = 0; i < depth; i++) {
+			stack[i] = null;
+			keys[i] = null;
+		};
+		depth = 0;
+		result = null;
+		length = 0;
+		
+	};
+	
+	/**
+	 * Parse the remaining bytes of a ByteBuffer.
+	 * 
+	 * @param chunk The next bytes.
+	 * @return {@code true} When the root is complete.
+	 * @throws JSONParseException When the input is not valid JSON.
+	 */
+	public boolean feed(ByteBuffer chunk) throws JSONParseException {
+		
+		if (chunk.hasArray()) {
+			int read = chunk.remaining();
+			feed(chunk.array(), chunk.arrayOffset() + chunk.position(), read);
+			chunk.position(chunk.position() + read);
+			return state == DONE;
+		};
+		
+		if (work == null) work = new byte[WORK_SIZE];
+		while (chunk.hasRemaining()) {
+			int read = Math.min(work.length, chunk.remaining());
+			chunk.get(work, 0, read);
+			feed(work, 0, read);
+		};
+		return state == DONE;
+		
+	};
+	
+	/**
+	 * Parse a chunk of bytes.
+	 * 
+	 * @param bytes The next bytes.
+	 * @param off Position of the first byte.
+	 * @param len Ammount of bytes.
+	 * @return {@code true} When the root is complete.
+	 * @throws JSONParseException When the input is not valid JSON.
+	 */
+	public boolean feed(byte[] bytes, int off, int len) throws JSONParseException {
+		
+		if (off < 0 || len < 0 || off > bytes.length - len) throw new IndexOutOfBoundsException("offset " + off + ", length " + len);
+		
+		int end = off + len;
+		int i = off;
+		while (i < end) {
+			
+			byte b = bytes[i];
+			
+			//Inside a String, copy until the closing "
+			if (state == STRING) {
+				
+				int from = i;
+				while (i < end) {
+					b = bytes[i];
+					if (escape) {
+						escape = false;
+					} else if (b == '\\') {
+						escape = true;
+						escaped = true;
+					} else if (b == '"') {
+						break;
+					};
+					i++;
+				};
+				append(bytes, from, i);
+				offset += i - from;
+				if (i == end) break; //Continued in the next chunk.
+				i++; //Skip "
+				offset++;
+				endString();
+				continue;
+				
+			};
+			
+			//Inside a literal, copy until a delimiter
+			if (state == LITERAL) {
+				
+				int from = i;
+				while (i < end && !delimiter(bytes[i])) i++;
+				append(bytes, from, i);
+				offset += i - from;
+				if (i == end) break; //Continued in the next chunk.
+				value(JSONParser.literal(scratchSource, 0, length, start));
+				continue; //The delimiter is handled by the next state.
+				
+			};
+			
+			//Inside a UTF-8 BOM, it's bytes can come in separate chunks
+			if (state == BOM) {
+				
+				if ((b & 0xFF) != (offset == 1 ? 0xBB : 0xBF)) throw new JSONParseException("Not a JSONObject or JSONArray at " + offset);
+				i++;
+				offset++;
+				if (offset == 3) state = ROOT;
+				continue;
+				
+			};
+			
+			i++;
+			if (whitespace(b)) {
+				offset++;
+				continue;
+			};
+			
+			switch (state) {
+				
+				case ROOT:
+					if (b == '{') {
+						push(new JSONObject(), OBJECT_FIRST);
+					} else if (b == '[') {
+						push(new JSONArray(), ARRAY_FIRST);
+					} else if (offset == 0 && (b & 0xFF) == 0xEF) {
+						state = BOM;
+					} else {
+						throw new JSONParseException("Not a JSONObject or JSONArray at " + offset);
+					};
+					break;
+					
+				case ARRAY_FIRST:
+					if (b == ']') {
+						pop();
+						break;
+					};
+					startValue(b);
+					break;
+					
+				case VALUE:
+					startValue(b);
+					break;
+					
+				case ARRAY_NEXT:
+					if (b == ',') {
+						state = VALUE;
+					} else if (b == ']') {
+						pop();
+					} else {
+						throw new JSONParseException("Illegal character at " + offset);
+					};
+					break;
+					
+				case OBJECT_FIRST:
+					if (b == '}') {
+						pop();
+						break;
+					};
+					if (b != '"') throw new JSONParseException("Key is not a String at " + offset);
+					startString(true);
+					break;
+					
+				case OBJECT_KEY:
+					if (b != '"') throw new JSONParseException("Key is not a String at " + offset);
+					startString(true);
+					break;
+					
+				case COLON:
+					if (b != ':') throw new JSONParseException("No Separator at " + offset);
+					state = VALUE;
+					break;
+					
+				case OBJECT_NEXT:
+					if (b == ',') {
+						state = OBJECT_KEY;
+					} else if (b == '}') {
+						pop();
+					} else {
+						throw new JSONParseException("Illegal character at " + offset);
+					};
+					break;
+					
+				default:
+					throw new JSONParseException("Unexpected character at " + offset);
+					
+			};
+			offset++;
+			
+		};
+		return state == DONE;
+		
+	};
+	
+	/**
+	 * Signal the end of the input.
+	 * 
+	 * @return The root JSONObject or JSONArray.
+	 * @throws JSONParseException When the root is not complete.
+	 */
+	public Object end() throws JSONParseException {
+		
+		if (state != DONE) throw new JSONParseException("Unexpected end at " + offset);
+		return result;
+		
+	};
+	
+	/**
+	 * Check if the root is complete.
+	 * 
+	 * @return {@code true} When the root is complete.
+	 */
+	public boolean done() {
+		
+		return state == DONE;
+		
+	};
+	
+	/**
+	 * Get the root when complete.
+	 * 
+	 * @return The root JSONObject or JSONArray, {@code null} When not complete.
+	 */
+	public Object result() {
+		
+		return result;
+		
+	};
+	
+	private void startValue(byte b) throws JSONParseException {
+		
+		if (b == '{') {
+			push(new JSONObject(), OBJECT_FIRST);
+		} else if (b == '[') {
+			push(new JSONArray(), ARRAY_FIRST);
+		} else if (b == '"') {
+			startString(false);
+		} else if (b == ',' || b == ':' || b == '}' || b == ']') {
+			throw new JSONParseException("Unexpected Object at " + offset);
+		} else {
+			state = LITERAL;
+			start = offset;
+			length = 0;
+			append(b);
+		};
+		
+	};
+	
+	private void startString(boolean key) {
+		
+		this.state = STRING;
+		this.key = key;
+		this.escaped = false;
+		this.escape = false;
+		this.start = offset;
+		this.length = 0;
+		
+	};
+	
+	/**
+	 * The closing " of a String or key was read.
+	 */
+	private void endString() throws JSONParseException {
+		
+		if (key) {
+			
+			String name = escaped ? JSONUtils.unescape(scratchSource.string(0, length), start + 1) : JSONKeys.key(scratchSource, 0, length);
+			if (name.length() == 0) throw new JSONParseException("Key is empty at " + offset); //Key should always have a value
+			keys[depth-1] = name;
+			state = COLON;
+			return;
+			
+		};
+		
+		String value = scratchSource.string(0, length);
+		value(escaped ? JSONUtils.unescape(value, start + 1) : value);
+		
+	};
+	
+	/**
+	 * Add a complete Value to the current JSONObject or JSONArray.
+	 */
+	private void value(Object value) {
+		
+		Object target = stack[depth-1];
+		if (target instanceof JSONObject) {
+			((JSONObject) target).put(keys[depth-1], value);
+			keys[depth-1] = null;
+			state = OBJECT_NEXT;
+		} else {
+			((JSONArray) target).add(value);
+			state = ARRAY_NEXT;
+		};
+		
+	};
+	
+	private void push(Object json, int state) throws JSONParseException {
+		
+		if (depth >= maxDepth) throw new JSONParseException("Too deep at " + offset);
+		if (depth == stack.length) {
+			Object[] grown = new Object[depth << 1];
+			System.arraycopy(stack, 0, grown, 0, depth);
+			stack = grown;
+			String[] grownKeys = new String[depth << 1];
+			System.arraycopy(keys, 0, grownKeys, 0, depth);
+			keys = grownKeys;
+		};
+		stack[depth++] = json;
+		this.state = state;
+		
+	};
+	
+	/**
+	 * Close the current JSONObject or JSONArray.
+	 */
+	private void pop() {
+		
+		Object json = stack[--depth];
+		stack[depth] = null;
+		if (depth == 0) {
+			result = json; //The root, no custom class.
+			state = DONE;
+			return;
+		};
+		value(json instanceof JSONObject ? JSONBindings.construct((JSONObject) json) : json);
+		
+	};
+	
+	private void append(byte b) {
+		
+		if (length == scratch.length) grow(length + 1);
+		scratch[length++] = b;
+		
+	};
+	
+	private void append(byte[] bytes, int from, int to) {
+		
+		int len = to - from;
+		if (length + len > scratch.length) grow(length + len);
+		System.arraycopy(bytes, from, scratch, length, len);
+		length += len;
+		
+	};
+	
+	private void grow(int min) {
+		
+		byte[] grown = new byte[Math.max(min, scratch.length << 1)];
+		System.arraycopy(scratch, 0, grown, 0, length);
+		scratch = grown;
+		scratchSource = new JSONSource.Bytes(scratch);
+		
+	};
+	
+	private static boolean whitespace(byte b) {
+		
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\b' || b == '\f';
+		
+	};
+	
+	private static boolean delimiter(byte b) {
+		
+		return b == ',' || b == '}' || b == ']' || whitespace(b);
+		
+	};
+	
+};
\ No newline at end of file
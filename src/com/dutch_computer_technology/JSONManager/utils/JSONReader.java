@@ -0,0 +1,789 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import com.dutch_computer_technology.JSONManager.data.JSONArray;
+import com.dutch_computer_technology.JSONManager.data.JSONObject;
+import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+
+/**
+ * Pull reader for JSON,<br>
+ * reads one token at a time from a Reader using a bounded buffer.<br>
+ * <br>
+ * Memory use depends on the nesting depth, not the size of the input.<br>
+ * Nesting deeper than the maxDepth of the config fails, a leading BOM is skipped.
+ */
+public class JSONReader implements Closeable {
+	
+	private static final int BUFFER_SIZE = 8192;
+	
+	//Scopes
+	private static final int EMPTY_DOCUMENT = 0;
+	private static final int NONEMPTY_DOCUMENT = 1;
+	private static final int EMPTY_OBJECT = 2;
+	private static final int DANGLING_NAME = 3;
+	private static final int NONEMPTY_OBJECT = 4;
+	private static final int EMPTY_ARRAY = 5;
+	private static final int NONEMPTY_ARRAY = 6;
+	
+	private final Reader reader;
+	private final char[] buf;
+	private int pos;
+	private int limit;
+	private long offset;
+	
+	private int[] stack;
+	private int depth;
+	private final int maxDepth;
+	private JSONToken peeked;
+	
+	private final StringBuilder scratch;
+	
+	/**
+	 * Create a JSONReader reading from a Reader.
+	 * 
+	 * @param reader Reader to read from.
+	 */
+	public JSONReader(Reader reader) {
+		
+		this(reader, null);
+		
+	};
+	
+	/**
+	 * Create a JSONReader reading from a Reader.
+	 * 
+	 * @param reader Reader to read from.
+	 * @param config JSONConfig config for Parsing, only the maxDepth is used.
+	 */
+	public JSONReader(Reader reader, JSONConfig config) {
+		
+		if (reader == null) throw new NullPointerException("reader");
+		
+		this.reader = reader;
+		this.buf = new char[BUFFER_SIZE];
+		this.pos = 0;
+		this.limit = 0;
+		this.offset = 0;
+		
+		this.stack = new int[32];
+		this.stack[0] = EMPTY_DOCUMENT;
+		this.depth = 1;
+		this.maxDepth = config == null ? JSONUtils.maxDepth() : config.maxDepth();
+		this.peeked = null;
+		
+		this.scratch = new StringBuilder();
+		
+	};
+	
+	/**
+	 * Create a JSONReader reading UTF-8 from a InputStream.
+	 * 
+	 * @param in InputStream to read from.
+	 */
+	public JSONReader(InputStream in) {
+		
+		this(in, null);
+		
+	};
+	
+	/**
+	 * Create a JSONReader reading UTF-8 from a InputStream.
+	 * 
+	 * @param in InputStream to read from.
+	 * @param config JSONConfig config for Parsing, only the maxDepth is used.
+	 */
+	public JSONReader(InputStream in, JSONConfig config) {
+		
+		this(new InputStreamReader(in, StandardCharsets.UTF_8), config);
+		
+	};
+	
+	/**
+	 * Get the type of the next token,<br>
+	 * without consuming it.
+	 * 
+	 * @return The next token.
+	 * @throws JSONParseException When the input is not valid JSON.
+	 * @throws IOException When reading fails.
+	 */
+	public JSONToken nextToken() throws JSONParseException, IOException {
+		
+		if (peeked != null) return peeked;
+		
+		int c;
+		switch (stack[depth-1]) {
+			
+			case EMPTY_DOCUMENT:
+				stack[depth-1] = NONEMPTY_DOCUMENT;
+				if ((pos < limit || fill()) && offset == 0 && pos == 0 && buf[0] == '\uFEFF') pos++; //Skip a BOM, decoded to 1 character.
+				return peeked = value(peekChar());
+				
+			case NONEMPTY_DOCUMENT:
+				if (peekChar() == -1) return peeked = JSONToken.END_DOCUMENT;
+				throw error("Unexpected character");
+				
+			case EMPTY_ARRAY:
+				stack[depth-1] = NONEMPTY_ARRAY;
+				c = peekChar();
+				if (c == ']') return peeked = JSONToken.END_ARRAY;
+				return peeked = value(c);
+				
+			case NONEMPTY_ARRAY:
+				c = peekChar();
+				if (c == ']') return peeked = JSONToken.END_ARRAY;
+				if (c != ',') throw error("Illegal character");
+				pos++;
+				return peeked = value(peekChar());
+				
+			case EMPTY_OBJECT:
+			case NONEMPTY_OBJECT:
+				c = peekChar();
+				if (c == '}') return peeked = JSONToken.END_OBJECT;
+				if (stack[depth-1] == NONEMPTY_OBJECT) {
+					if (c != ',') throw error("Illegal character");
+					pos++;
+					c = peekChar();
+				};
+				if (c != '"') throw error("Key is not a String");
+				stack[depth-1] = DANGLING_NAME;
+				return peeked = JSONToken.NAME;
+				
+			case DANGLING_NAME:
+				if (peekChar() != ':') throw error("No Separator");
+				pos++;
+				stack[depth-1] = NONEMPTY_OBJECT;
+				return peeked = value(peekChar());
+				
+			default:
+				throw new IllegalStateException("JSONReader is closed");
+				
+		}
+		
+	};
+	
+	/**
+	 * Check if the current JSONObject or JSONArray has more members.
+	 * 
+	 * @return {@code true} When there is another member, {@code false} When the end is reached.
+	 * @throws JSONParseException When the input is not valid JSON.
+	 * @throws IOException When reading fails.
+	 */
+	public boolean hasNext() throws JSONParseException, IOException {
+		
+		JSONToken token = nextToken();
+		return token != JSONToken.END_OBJECT && token != JSONToken.END_ARRAY && token != JSONToken.END_DOCUMENT;
+		
+	};
+	
+	/**
+	 * Consume the opening { of a JSONObject.
+	 * 
+	 * @throws JSONParseException When the next token is not {@link JSONToken#BEGIN_OBJECT}.
+	 * @throws IOException When reading fails.
+	 */
+	public void beginObject() throws JSONParseException, IOException {
+		
+		expect(JSONToken.BEGIN_OBJECT);
+		pos++;
+		push(EMPTY_OBJECT);
+		
+	};
+	
+	/**
+	 * Consume the closing } of a JSONObject.
+	 * 
+	 * @throws JSONParseException When the next token is not {@link JSONToken#END_OBJECT}.
+	 * @throws IOException When reading fails.
+	 */
+	public void endObject() throws JSONParseException, IOException {
+		
+		expect(JSONToken.END_OBJECT);
+		pos++;
+		depth--;
+		
+	};
+	
+	/**
+	 * Consume the opening [ of a JSONArray.
+	 * 
+	 * @throws JSONParseException When the next token is not {@link JSONToken#BEGIN_ARRAY}.
+	 * @throws IOException When reading fails.
+	 */
+	public void beginArray() throws JSONParseException, IOException {
+		
+		expect(JSONToken.BEGIN_ARRAY);
+		pos++;
+		push(EMPTY_ARRAY);
+		
+	};
+	
+	/**
+	 * Consume the closing ] of a JSONArray.
+	 * 
+	 * @throws JSONParseException When the next token is not {@link JSONToken#END_ARRAY}.
+	 * @throws IOException When reading fails.
+	 */
+	public void endArray() throws JSONParseException, IOException {
+		
+		expect(JSONToken.END_ARRAY);
+		pos++;
+		depth--;
+		
+	};
+	
+	/**
+	 * Consume the end of the input,<br>
+	 * only whitespace may follow the root Value.
+	 * 
+	 * @throws JSONParseException When the next token is not {@link JSONToken#END_DOCUMENT}.
+	 * @throws IOException When reading fails.
+	 */
+	public void endDocument() throws JSONParseException, IOException {
+		
+		expect(JSONToken.END_DOCUMENT);
+		
+	};
+	
+	/**
+	 * Consume the key of a JSONObject member.
+	 * 
+	 * @return The key.
+	 * @throws JSONParseException When the next token is not {@link JSONToken#NAME}.
+	 * @throws IOException When reading fails.
+	 */
+	public String name() throws JSONParseException, IOException {
+		
+		expect(JSONToken.NAME);
+		return readString();
+		
+	};
+	
+	/**
+	 * Consume a String value.
+	 * 
+	 * @return The String.
+	 * @throws JSONParseException When the next token is not {@link JSONToken#STRING}.
+	 * @throws IOException When reading fails.
+	 */
+	public String stringValue() throws JSONParseException, IOException {
+		
+		expect(JSONToken.STRING);
+		return readString();
+		
+	};
+	
+	/**
+	 * Consume a Boolean value.
+	 * 
+	 * @return The Boolean.
+	 * @throws JSONParseException When the next token is not {@link JSONToken#BOOLEAN}.
+	 * @throws IOException When reading fails.
+	 */
+	public boolean booleanValue() throws JSONParseException, IOException {
+		
+		expect(JSONToken.BOOLEAN);
+		long at = offset + pos;
+		String token = readToken();
+		if (token.equals("true")) return true;
+		if (token.equals("false")) return false;
+		throw new JSONParseException("Unexpected Object at " + at);
+		
+	};
+	
+	/**
+	 * Consume a null value.
+	 * 
+	 * @throws JSONParseException When the next token is not {@link JSONToken#NULL}.
+	 * @throws IOException When reading fails.
+	 */
+	public void nullValue() throws JSONParseException, IOException {
+		
+		expect(JSONToken.NULL);
+		long at = offset + pos;
+		if (!readToken().equals("null")) throw new JSONParseException("Unexpected Object at " + at);
+		
+	};
+	
+	/**
+	 * Consume a Number value,<br>
+	 * a suffix decides the type, otherwise Long or Double.
+	 * 
+	 * @return The Number.
+	 * @throws JSONParseException When the next token is not {@link JSONToken#NUMBER}.
+	 * @throws IOException When reading fails.
+	 */
+	public Number numberValue() throws JSONParseException, IOException {
+		
+		expect(JSONToken.NUMBER);
+		long at = offset + pos;
+		Object value = JSONParser.literal(readToken(), at);
+		if (!(value instanceof Number)) throw new JSONParseException("Unexpected Object at " + at);
+		return (Number) value;
+		
+	};
+	
+	/**
+	 * Consume a whole Number value as Long.
+	 * 
+	 * @return The Long.
+	 * @throws JSONParseException When the next token is not a whole {@link JSONToken#NUMBER}.
+	 * @throws IOException When reading fails.
+	 */
+	public long longValue() throws JSONParseException, IOException {
+		
+		long at = offset + pos;
+		Number value = numberValue();
+		if (!(value instanceof Long || value instanceof Integer)) throw new JSONParseException("Not a whole number at " + at);
+		return value.longValue();
+		
+	};
+	
+	/**
+	 * Consume a whole Number value as Integer.
+	 * 
+	 * @return The Integer.
+	 * @throws JSONParseException When the next token is not a whole {@link JSONToken#NUMBER} or out of range.
+	 * @throws IOException When reading fails.
+	 */
+	public int intValue() throws JSONParseException, IOException {
+		
+		long at = offset + pos;
+		long value = longValue();
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) throw new JSONParseException("NumberFormatException at " + at);
+		return (int) value;
+		
+	};
+	
+	/**
+	 * Consume a Number value as Double.
+	 * 
+	 * @return The Double.
+	 * @throws JSONParseException When the next token is not {@link JSONToken#NUMBER}.
+	 * @throws IOException When reading fails.
+	 */
+	public double doubleValue() throws JSONParseException, IOException {
+		
+		return numberValue().doubleValue();
+		
+	};
+	
+	/**
+	 * Consume a Number value as Float.
+	 * 
+	 * @return The Float.
+	 * @throws JSONParseException When the next token is not {@link JSONToken#NUMBER}.
+	 * @throws IOException When reading fails.
+	 */
+	public float floatValue() throws JSONParseException, IOException {
+		
+		return numberValue().floatValue();
+		
+	};
+	
+	/**
+	 * Skip the next Value, including all nested members.<br>
+	 * When the next token is a {@link JSONToken#NAME} the key &amp; it's Value are skipped.
+	 * 
+	 * @throws JSONParseException When the input is not valid JSON.
+	 * @throws IOException When reading fails.
+	 */
+	public void skipValue() throws JSONParseException, IOException {
+		
+		int open = 0;
+		boolean name;
+		do {
+			
+			name = false;
+			switch (nextToken()) {
+				case BEGIN_OBJECT:
+					beginObject();
+					open++;
+					break;
+				case BEGIN_ARRAY:
+					beginArray();
+					open++;
+					break;
+				case END_OBJECT:
+					if (open == 0) throw error("Nothing to skip");
+					endObject();
+					open--;
+					break;
+				case END_ARRAY:
+					if (open == 0) throw error("Nothing to skip");
+					endArray();
+					open--;
+					break;
+				case NAME:
+					expect(JSONToken.NAME);
+					skipString();
+					name = true; //The Value of this key follows.
+					break;
+				case STRING:
+					expect(JSONToken.STRING);
+					skipString();
+					break;
+				case END_DOCUMENT:
+					throw error("Nothing to skip");
+				default:
+					expect(peeked);
+					skipToken();
+					break;
+			}
+			
+		} while (open > 0 || name);
+		
+	};
+	
+	/**
+	 * Read the next Value,<br>
+	 * JSONObject's &amp; JSONArray's are read completely.
+	 * 
+	 * @return The Value, a custom class when a JSONObject has a usable __class.
+	 * @throws JSONParseException When the input is not valid JSON.
+	 * @throws IOException When reading fails.
+	 */
+	public Object readValue() throws JSONParseException, IOException {
+		
+		switch (nextToken()) {
+			case BEGIN_OBJECT:
+				return JSONBindings.construct(readObject());
+			case BEGIN_ARRAY:
+				return readArray();
+			case STRING:
+				return stringValue();
+			case NUMBER:
+				return numberValue();
+			case BOOLEAN:
+				return booleanValue();
+			case NULL:
+				nullValue();
+				return null;
+			default:
+				throw error("Expected a Value but was " + peeked);
+		}
+		
+	};
+	
+	/**
+	 * Read the next JSONObject completely.
+	 * 
+	 * @return The JSONObject.
+	 * @throws JSONParseException When the next Value is not a JSONObject.
+	 * @throws IOException When reading fails.
+	 */
+	public JSONObject readObject() throws JSONParseException, IOException {
+		
+		JSONObject json = new JSONObject();
+		beginObject();
+		readMembers(json);
+		return json;
+		
+	};
+	
+	/**
+	 * Read the next JSONArray completely.
+	 * 
+	 * @return The JSONArray.
+	 * @throws JSONParseException When the next Value is not a JSONArray.
+	 * @throws IOException When reading fails.
+	 */
+	public JSONArray readArray() throws JSONParseException, IOException {
+		
+		JSONArray json = new JSONArray();
+		beginArray();
+		readMembers(json);
+		return json;
+		
+	};
+	
+	/**
+	 * Read the root JSONObject or JSONArray into a Map or List,<br>
+	 * only whitespace may follow.
+	 * 
+	 * @param data The Map or List to store the read data.
+	 * @param open { for a JSONObject, [ for a JSONArray.
+	 */
+	void readRoot(Object data, char open) throws JSONParseException, IOException {
+		
+		if (open == '{') {
+			if (nextToken() != JSONToken.BEGIN_OBJECT) throw new JSONParseException("Not a JSONObject");
+			beginObject();
+		} else {
+			if (nextToken() != JSONToken.BEGIN_ARRAY) throw new JSONParseException("Not a JSONArray");
+			beginArray();
+		};
+		readMembers(data);
+		endDocument();
+		
+	};
+	
+	/**
+	 * Read the members of the opened JSONObject or JSONArray until it is closed,<br>
+	 * nested ones are kept on a stack instead of the Java stack.
+	 * 
+	 * @param target The Map/JSONObject or List/JSONArray to store the members.
+	 * @throws JSONParseException When the input is not valid JSON.
+	 * @throws IOException When reading fails.
+	 */
+	private void readMembers(Object target) throws JSONParseException, IOException {
+		
+		Object[] targets = new Object[16];
+		String[] keys = new String[16];
+		targets[0] = target;
+		int open = 1;
+		while (open > 0) {
+			
+			Object value;
+			switch (nextToken()) {
+				
+				case NAME:
+					long at = offset + pos;
+					String key = name();
+					if (key.length() == 0) throw new JSONParseException("Key is empty at " + at); //Key should always have a value
+					keys[open-1] = key;
+					continue;
+					
+				case BEGIN_OBJECT:
+				case BEGIN_ARRAY:
+					if (open == targets.length) {
+						targets = Arrays.copyOf(targets, open << 1);
+						keys = Arrays.copyOf(keys, open << 1);
+					};
+					if (peeked == JSONToken.BEGIN_OBJECT) {
+						beginObject();
+						targets[open++] = new JSONObject();
+					} else {
+						beginArray();
+						targets[open++] = new JSONArray();
+					};
+					continue;
+					
+				case END_OBJECT:
+				case END_ARRAY:
+					if (peeked == JSONToken.END_OBJECT) {
+						endObject();
+					} else {
+						endArray();
+					};
+					value = targets[--open];
+					targets[open] = null;
+					if (open == 0) return;
+					if (value instanceof JSONObject) value = JSONBindings.construct((JSONObject) value);
+					break;
+					
+				default:
+					value = readValue();
+					break;
+					
+			}
+			
+			Object parent = targets[open-1];
+			if (parent instanceof JSONObject || parent instanceof Map) {
+				JSONParser.put(parent, keys[open-1], value);
+				keys[open-1] = null;
+			} else {
+				JSONParser.add(parent, value);
+			};
+			
+		};
+		
+	};
+	
+	/**
+	 * Close the underlying Reader.
+	 * 
+	 * @throws IOException When closing fails.
+	 */
+	@Override
+	public void close() throws IOException {
+		
+		peeked = null;
+		depth = 1;
+		stack[0] = -1; //Closed
+		reader.close();
+		
+	};
+	
+	private void expect(JSONToken token) throws JSONParseException, IOException {
+		
+		if (nextToken() != token) throw error("Expected " + token + " but was " + peeked);
+		peeked = null;
+		
+	};
+	
+	private void push(int scope) throws JSONParseException {
+		
+		if (depth > maxDepth) throw error("Too deep");
+		if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+		stack[depth++] = scope;
+		
+	};
+	
+	private JSONParseException error(String message) {
+		
+		return new JSONParseException(message + " at " + (offset + pos));
+		
+	};
+	
+	/**
+	 * Get the type of the Value starting with the given character.
+	 */
+	private JSONToken value(int c) throws JSONParseException {
+		
+		switch (c) {
+			case '{':
+				return JSONToken.BEGIN_OBJECT;
+			case '[':
+				return JSONToken.BEGIN_ARRAY;
+			case '"':
+				return JSONToken.STRING;
+			case 't':
+			case 'f':
+				return JSONToken.BOOLEAN;
+			case 'n':
+				return JSONToken.NULL;
+			case -1:
+				throw error("Unexpected end");
+			default:
+				if (c == '-' || (c >= '0' && c <= '9')) return JSONToken.NUMBER;
+				throw error("Unexpected Object");
+		}
+		
+	};
+	
+	private boolean fill() throws IOException {
+		
+		offset += limit;
+		pos = 0;
+		limit = 0;
+		int read;
+		while ((read = reader.read(buf, 0, buf.length)) == 0);
+		if (read == -1) return false;
+		limit = read;
+		return true;
+		
+	};
+	
+	/**
+	 * Skip whitespace &amp; get the next character,<br>
+	 * without consuming it.
+	 * 
+	 * @return The character, -1 at the end of the input.
+	 */
+	private int peekChar() throws IOException {
+		
+		while (true) {
+			
+			if (pos == limit && !fill()) return -1;
+			char c = buf[pos];
+			if (c != ' ' && c != '\n' && c != '\r' && c != '\t' && c != '\b' && c != '\f') return c;
+			pos++;
+			
+		}
+		
+	};
+	
+	/**
+	 * Read a literal or number.
+	 */
+	private String readToken() throws IOException {
+		
+		scratch.setLength(0);
+		while (true) {
+			
+			if (pos == limit && !fill()) break;
+			char c = buf[pos];
+			if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f') break;
+			scratch.append(c);
+			pos++;
+			
+		};
+		return scratch.toString();
+		
+	};
+	
+	private void skipToken() throws IOException {
+		
+		while (true) {
+			
+			if (pos == limit && !fill()) return;
+			char c = buf[pos];
+			if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f') return;
+			pos++;
+			
+		}
+		
+	};
+	
+	/**
+	 * Read a String, the buffer is on the opening ".
+	 */
+	private String readString() throws JSONParseException, IOException {
+		
+		pos++; //Skip "
+		int start = pos;
+		long at = offset + pos;
+		boolean escaped = false;
+		boolean split = false;
+		while (true) {
+			
+			if (pos == limit) {
+				if (!split) scratch.setLength(0);
+				split = true;
+				scratch.append(buf, start, pos - start);
+				if (!fill()) throw error("String not closed");
+				start = 0;
+			};
+			
+			char c = buf[pos++];
+			if (c == '"') break;
+			if (c == '\\') {
+				escaped = true;
+				if (pos == limit) {
+					if (!split) scratch.setLength(0);
+					split = true;
+					scratch.append(buf, start, pos - start);
+					if (!fill()) throw error("String not closed");
+					start = 0;
+				};
+				pos++;
+			};
+			
+		};
+		
+		String value;
+		if (split) {
+			value = scratch.append(buf, start, pos - 1 - start).toString();
+		} else {
+			value = new String(buf, start, pos - 1 - start);
+		};
+		return escaped ? JSONUtils.unescape(value, at) : value;
+		
+	};
+	
+	private void skipString() throws JSONParseException, IOException {
+		
+		pos++; //Skip "
+		while (true) {
+			
+			if (pos == limit && !fill()) throw error("String not closed");
+			char c = buf[pos++];
+			if (c == '"') return;
+			if (c == '\\') {
+				if (pos == limit && !fill()) throw error("String not closed");
+				pos++;
+			};
+			
+		}
+		
+	};
+	
+};
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteOrder;
+
+/**
+ * Scanning of UTF-8 bytes 8 at a time, reading them as a single long (SWAR).<br>
+ * <br>
+ * The long view of a byte array is a VarHandle, only available from Java 9,<br>
+ * on older JVM's every byte is checked on it's own with the same result.<br>
+ * <br>
+ * Only used for byte sources, Strings are scanned one character at a time,<br>
+ * also when escaped by the serializer.
+ */
+final class JSONScan {
+	
+	private static final MethodHandle LONG = view();
+	private static final long LOW = 0x7F7F7F7F7F7F7F7FL;
+	private static final long HIGH = 0x8080808080808080L;
+	private static final long QUOTES = 0x2222222222222222L;
+	private static final long BACKSLASHES = 0x5C5C5C5C5C5C5C5CL;
+	private static final long SPACES = 0x2020202020202020L;
+	private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+	private static final long RETURNS = 0x0D0D0D0D0D0D0D0DL;
+	private static final long TABS = 0x0909090909090909L;
+	private static final long BACKSPACES = 0x0808080808080808L;
+	private static final long FEEDS = 0x0C0C0C0C0C0C0C0CL;
+	
+	private JSONScan() {};
+	
+	private static MethodHandle view() {
+		
+		try {
+			Class<?> varHandle = Class.forName("java.lang.invoke.VarHandle");
+			Class<?> mode = Class.forName("java.lang.invoke.VarHandle$AccessMode");
+			Object handle = MethodHandles.class.getMethod("byteArrayViewVarHandle", Class.class, ByteOrder.class).invoke(null, long[].class, ByteOrder.LITTLE_ENDIAN);
+			MethodHandle get = (MethodHandle) varHandle.getMethod("toMethodHandle", mode).invoke(handle, mode.getField("GET").get(null));
+			return get.asType(MethodType.methodType(long.class, byte[].class, int.class));
+		} catch (Exception e) {
+			return null; //Before Java 9, bytes are scanned one at a time.
+		}
+		
+	};
+	
+	/**
+	 * Read 8 bytes, the first byte is the lowest.
+	 * 
+	 * @param bytes The bytes.
+	 * @param i Position of the first byte.
+	 * @return The bytes as a long.
+	 */
+	private static long word(byte[] bytes, int i) {
+		
+		try {
+			return (long) LONG.invokeExact(bytes, i);
+		} catch (Throwable e) {
+			throw new IllegalStateException(e); //Never, the caller checks the bounds.
+		}
+		
+	};
+	
+	/**
+	 * Set the high bit of every byte equal to the pattern,<br>
+	 * without carries between the bytes, so the result is exact for every byte.
+	 * 
+	 * @param word 8 bytes.
+	 * @param pattern The byte repeated 8 times.
+	 * @return The high bits of the equal bytes.
+	 */
+	private static long equal(long word, long pattern) {
+		
+		long x = word ^ pattern;
+		return ~(((x & LOW) + LOW) | x | LOW);
+		
+	};
+	
+	private static int first(int i, long found) {
+		
+		return i + (Long.numberOfTrailingZeros(found) >>> 3);
+		
+	};
+	
+	/**
+	 * Find the next " or \,<br>
+	 * control characters are accepted in Strings by the parser so they are not searched.
+	 * 
+	 * @param bytes The bytes.
+	 * @param from Position to start at.
+	 * @param end End of the bytes, exclusive.
+	 * @return Position of the " or \, end When there is none, from When it's past the end.
+	 */
+	static int quote(byte[] bytes, int from, int end) {
+		
+		int i = from;
+		if (LONG != null) {
+			for (; i <= end - 8; i += 8) {
+				long word = word(bytes, i);
+				long found = equal(word, QUOTES) | equal(word, BACKSLASHES);
+				if (found != 0) return first(i, found);
+			};
+		};
+		for (; i < end; i++) {
+			byte b = bytes[i];
+			if (b == '"' || b == '\\') return i;
+		};
+		return i;
+		
+	};
+	
+	/**
+	 * Find the next character that is not whitespace.
+	 * 
+	 * @param bytes The bytes.
+	 * @param from Position to start at.
+	 * @param end End of the bytes, exclusive.
+	 * @return Position of the character, end When there is none.
+	 */
+	static int whitespace(byte[] bytes, int from, int end) {
+		
+		int i = from;
+		if (i < end && !whitespace(bytes[i])) return i; //Mostly no whitespace at all.
+		if (LONG != null) {
+			for (; i <= end - 8; i += 8) {
+				long word = word(bytes, i);
+				long found = ~(equal(word, SPACES) | equal(word, NEWLINES) | equal(word, RETURNS) | equal(word, TABS) | equal(word, BACKSPACES) | equal(word, FEEDS)) & HIGH;
+				if (found != 0) return first(i, found);
+			};
+		};
+		for (; i < end; i++) {
+			if (!whitespace(bytes[i])) return i;
+		};
+		return i;
+		
+	};
+	
+	private static boolean whitespace(byte b) {
+		
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\b' || b == '\f';
+		
+	};
+	
+	/**
+	 * Find the next byte that is not ASCII, the start of a encoded character.
+	 * 
+	 * @param bytes The bytes.
+	 * @param from Position to start at.
+	 * @param end End of the bytes, exclusive.
+	 * @return Position of the byte, end When all are ASCII.
+	 */
+	static int ascii(byte[] bytes, int from, int end) {
+		
+		int i = from;
+		if (LONG != null) {
+			for (; i <= end - 8; i += 8) {
+				long found = word(bytes, i) & HIGH;
+				if (found != 0) return first(i, found);
+			};
+		};
+		for (; i < end; i++) {
+			if (bytes[i] < 0) return i;
+		};
+		return i;
+		
+	};
+	
+	/**
+	 * Find the next newline.
+	 * 
+	 * @param bytes The bytes.
+	 * @param from Position to start at.
+	 * @param end End of the bytes, exclusive.
+	 * @return Position of the newline, end When there is none.
+	 */
+	static int newline(byte[] bytes, int from, int end) {
+		
+		int i = from;
+		if (LONG != null) {
+			for (; i <= end - 8; i += 8) {
+				long found = equal(word(bytes, i), NEWLINES);
+				if (found != 0) return first(i, found);
+			};
+		};
+		for (; i < end; i++) {
+			if (bytes[i] == '\n') return i;
+		};
+		return i;
+		
+	};
+	
+};
\ No newline at end of file
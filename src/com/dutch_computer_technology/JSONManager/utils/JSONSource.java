@@ -0,0 +1,227 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Characters to be parsed by the JSONParser,<br>
+ * either a String, UTF-8 encoded bytes or a UTF-8 encoded ByteBuffer.<br>
+ * <br>
+ * All JSON syntax is ASCII, so bytes are only decoded for Strings &amp; keys.
+ */
+abstract class JSONSource {
+	
+	/**
+	 * Get the character at the given position,<br>
+	 * bytes above 0x7F are returned as is.
+	 * 
+	 * @param i Position.
+	 * @return The character.
+	 */
+	abstract char charAt(int i);
+	
+	/**
+	 * Get the text between start &amp; end, without unescaping.
+	 * 
+	 * @param start Start position, inclusive.
+	 * @param end End position, exclusive.
+	 * @return The decoded text.
+	 */
+	abstract String string(int start, int end);
+	
+	/**
+	 * Find the next " or \.
+	 * 
+	 * @param from Position to start at.
+	 * @param end End of the text, exclusive.
+	 * @return Position of the " or \, end When there is none, from When it's past the end.
+	 */
+	int quote(int from, int end) {
+		
+		int i = from;
+		for (; i < end; i++) {
+			char c = charAt(i);
+			if (c == '"' || c == '\\') return i;
+		};
+		return i;
+		
+	};
+	
+	/**
+	 * Skip a UTF-8 BOM, the bytes EF BB BF.
+	 * 
+	 * @param from Position to start at.
+	 * @param end End of the text, exclusive.
+	 * @return Position after the BOM, from When there is none.
+	 */
+	int bom(int from, int end) {
+		
+		if (end - from >= 3 && charAt(from) == 0xEF && charAt(from+1) == 0xBB && charAt(from+2) == 0xBF) return from + 3;
+		return from;
+		
+	};
+	
+	/**
+	 * Find the next character that is not whitespace.
+	 * 
+	 * @param from Position to start at.
+	 * @param end End of the text, exclusive.
+	 * @return Position of the character, end When there is none.
+	 */
+	int whitespace(int from, int end) {
+		
+		int i = from;
+		for (; i < end; i++) {
+			char c = charAt(i);
+			if (c != ' ' && c != '\n' && c != '\r' && c != '\t' && c != '\b' && c != '\f') return i;
+		};
+		return i;
+		
+	};
+	
+	/**
+	 * Source for a String.
+	 */
+	static final class Chars extends JSONSource {
+		
+		private String str;
+		
+		Chars(String str) {
+			
+			this.str = str;
+			
+		};
+		
+		/**
+		 * Reuse this source for a other String.
+		 * 
+		 * @param str The String.
+		 * @return This source.
+		 */
+		Chars reset(String str) {
+			
+			this.str = str;
+			return this;
+			
+		};
+		
+		@Override
+		char charAt(int i) {
+			
+			return str.charAt(i);
+			
+		};
+		
+		@Override
+		String string(int start, int end) {
+			
+			return str.substring(start, end);
+			
+		};
+		
+		@Override
+		int bom(int from, int end) {
+			
+			if (from < end && str.charAt(from) == '\uFEFF') return from + 1; //Already decoded, the BOM is 1 character.
+			return from;
+			
+		};
+		
+	};
+	
+	/**
+	 * Source for UTF-8 encoded bytes,<br>
+	 * Strings &amp; whitespace are scanned 8 bytes at a time.
+	 */
+	static final class Bytes extends JSONSource {
+		
+		private byte[] bytes;
+		
+		Bytes(byte[] bytes) {
+			
+			this.bytes = bytes;
+			
+		};
+		
+		/**
+		 * Reuse this source for a other byte array.
+		 * 
+		 * @param bytes The bytes.
+		 * @return This source.
+		 */
+		Bytes reset(byte[] bytes) {
+			
+			this.bytes = bytes;
+			return this;
+			
+		};
+		
+		@Override
+		char charAt(int i) {
+			
+			return (char) (bytes[i] & 0xFF);
+			
+		};
+		
+		@Override
+		String string(int start, int end) {
+			
+			if (JSONScan.ascii(bytes, start, end) < end) return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+			return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1); //ASCII only, no decoding needed.
+			
+		};
+		
+		@Override
+		int quote(int from, int end) {
+			
+			return JSONScan.quote(bytes, from, end);
+			
+		};
+		
+		@Override
+		int whitespace(int from, int end) {
+			
+			return JSONScan.whitespace(bytes, from, end);
+			
+		};
+		
+	};
+	
+	/**
+	 * Source for a UTF-8 encoded ByteBuffer,<br>
+	 * positions are absolute indexes in the ByteBuffer.
+	 */
+	static final class Buffer extends JSONSource {
+		
+		private final ByteBuffer buffer;
+		
+		Buffer(ByteBuffer buffer) {
+			
+			this.buffer = buffer;
+			
+		};
+		
+		@Override
+		char charAt(int i) {
+			
+			return (char) (buffer.get(i) & 0xFF);
+			
+		};
+		
+		@Override
+		String string(int start, int end) {
+			
+			byte[] bytes = new byte[end - start];
+			boolean ascii = true;
+			for (int i = start; i < end; i++) {
+				byte b = buffer.get(i);
+				if (b < 0) ascii = false;
+				bytes[i - start] = b;
+			};
+			return new String(bytes, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+			
+		};
+		
+	};
+	
+};
\ No newline at end of file
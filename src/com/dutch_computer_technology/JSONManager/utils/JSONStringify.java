@@ -1,8 +1,16 @@
 package com.dutch_computer_technology.JSONManager.utils;
 
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -14,6 +22,18 @@ import com.dutch_computer_technology.JSONManager.data.JSONObject;
  */
 public class JSONStringify {
 	
+	private static final int PARALLEL_DEPTH = 8; //Members are only split over threads this close to the root.
+	private static final int KEEP_DEPTH = 1024; //A bigger stack is not kept between uses.
+	private static final int FLUSH_SIZE = 8192; //Characters buffered before writing to a Appendable.
+	private static final int ROUND_SIZE = 2 * Runtime.getRuntime().availableProcessors(); //Segments stringified in parallel at once.
+	private static final long SEGMENT_SIZE = 1 << 20; //Segments are not made bigger than this many characters, unless the threshold is.
+	private static final int ESTIMATE_DEPTH = 2; //Levels sampled to estimate the size of a Value.
+	private static final int SAMPLES = 4; //Members sampled per level.
+	
+	private Frame[] stack; //Open JSONObject's & JSONArray's, reused by a JSONContext.
+	private char[] chars; //Copy of the buffer, for a Writer.
+	private boolean uncached; //Stringifying the JSONObject of a custom class, it's new every time.
+	
 	/**
 	 * Stringifier for JSONObject's &amp; JSONArray's
 	 */
@@ -32,175 +52,508 @@ public class JSONStringify {
 		if (data.isEmpty()) return "{}";
 		if (config == null) config = new JSONConfig();
 		
-		StringBuilder str = new StringBuilder("{");
-		myTabs++;
+		return string(null, data, config, myTabs, 0);
 		
-		Object[] keys = data.keySet().toArray();
-		List<Unloader> unloaders = new ArrayList<Unloader>();
-		for (int i = 0; i < keys.length; i++) {
-			
-			String key = (String) keys[i];
-			Object value = data.get(key);
-			
-			Unloader unloader = new Unloader(key, value, config, myTabs);
-			unloaders.add(unloader);
-			
-			if (config.threaded()) {
-				
-				unloader.start();
-				
-			} else {
-				
-				unloader.run();
-				
-			};
-			
+	};
+	
+	/**
+	 * Stringify a JSONArray
+	 * 
+	 * @param data The List to stringify.
+	 * @param config JSONConfig config for Stringifying.
+	 * @param myTabs The ammount of tabs.
+	 * @return The stringified JSONArray
+	 */
+	public static String Stringify(List<Object> data, JSONConfig config, int myTabs) {
+		
+		if (data.isEmpty()) return "[]";
+		if (config == null) config = new JSONConfig();
+		
+		return string(null, data, config, myTabs, 0);
+		
+	};
+	
+	/**
+	 * Write a stringified Value to a Appendable, like a Writer or StringBuilder,<br>
+	 * without creating a String for the Value or any of it's members.
+	 * 
+	 * @param obj To be stringified.
+	 * @param out Appendable to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	public static void write(Object obj, Appendable out, JSONConfig config) throws IOException {
+		
+		if (out == null) throw new NullPointerException("out");
+		if (config == null) config = new JSONConfig();
+		new JSONStringify().write(obj, out, config, out instanceof StringBuilder ? null : new StringBuilder(FLUSH_SIZE + 256));
+		
+	};
+	
+	/**
+	 * Write a stringified Value to a OutputStream as UTF-8,<br>
+	 * encoded in chunks without creating a String, the OutputStream is not flushed.
+	 * 
+	 * @param obj To be stringified.
+	 * @param out OutputStream to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	public static void writeTo(Object obj, OutputStream out, JSONConfig config) throws IOException {
+		
+		writeTo(obj, new JSONEncoder().to(out), config);
+		
+	};
+	
+	/**
+	 * Write a stringified Value to a blocking WritableByteChannel as UTF-8,<br>
+	 * encoded in chunks without creating a String.
+	 * 
+	 * @param obj To be stringified.
+	 * @param channel WritableByteChannel to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException When writing fails.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	public static void writeTo(Object obj, WritableByteChannel channel, JSONConfig config) throws IOException {
+		
+		writeTo(obj, new JSONEncoder().to(channel), config);
+		
+	};
+	
+	/**
+	 * Write a stringified Value to a ByteBuffer as UTF-8,<br>
+	 * from it's position without creating a String.
+	 * 
+	 * @param obj To be stringified.
+	 * @param buffer ByteBuffer to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws java.nio.BufferOverflowException When the ByteBuffer is too small.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	public static void writeTo(Object obj, ByteBuffer buffer, JSONConfig config) {
+		
+		try {
+			writeTo(obj, new JSONEncoder().to(buffer), config);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); //Never, a ByteBuffer doesn't throw IOException's.
 		};
 		
-		while (true) { //In order
-			
-			boolean allReady = true;
-			for (Unloader unloader : unloaders) {
-				
-				if (!unloader.isReady()) allReady = false;
-				
+	};
+	
+	private static void writeTo(Object obj, JSONEncoder encoder, JSONConfig config) throws IOException {
+		
+		if (config == null) config = new JSONConfig();
+		new JSONStringify().write(obj, encoder, config, new StringBuilder(FLUSH_SIZE + 256));
+		encoder.finish();
+		
+	};
+	
+	/**
+	 * Write a stringified Value to a Appendable,<br>
+	 * a StringBuilder is written to directly, anything else through the buffer.
+	 * 
+	 * @param obj To be stringified.
+	 * @param out Appendable to write to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @param buffer Empty StringBuilder to buffer the characters.
+	 * @throws IOException When writing fails.
+	 */
+	void write(Object obj, Appendable out, JSONConfig config, StringBuilder buffer) throws IOException {
+		
+		if (config.cache() && (obj instanceof JSONObject || obj instanceof JSONArray)) {
+			String text = string(obj, null, config, 0, 0);
+			byte[] bytes = out instanceof JSONEncoder ? JSONCache.of(obj, true).bytes(config, 0) : null;
+			if (bytes != null) {
+				((JSONEncoder) out).write(Collections.singletonList(ByteBuffer.wrap(bytes))); //Encoded once, written as it is.
+			} else {
+				out.append(text);
 			};
-			if (allReady) break;
-			
+			return;
 		};
 		
-		for (int i = 0; i < unloaders.size(); i++) {
-			
-			if (config.tabs()) str.append("\n").append(JSONUtils.tabs(myTabs));
-			
-			Unloader unloader = unloaders.get(i);
-			
-			str.append("\"").append(unloader.getKey()).append("\":");
-			
-			str.append(unloader.getStringified());
-			
-			if (i < data.size()-1) str.append(",");
-			
+		if (out instanceof StringBuilder) {
+			append(obj, null, (StringBuilder) out, null, config, 0, 0);
+			return;
 		};
-		
-		myTabs--;
-		if (config.tabs()) str.append("\n").append(JSONUtils.tabs(myTabs));
-		return str.append("}").toString();
+		append(obj, null, buffer, out, config, 0, 0);
+		flush(buffer, out);
 		
 	};
 	
 	/**
-	 * Stringify a JSONArray
+	 * Stringify a Value into a new String.
 	 * 
-	 * @param data The List to stringify.
+	 * @param obj The Value, ignored when members is given.
+	 * @param members The Map or List of the Value, or {@code null}.
 	 * @param config JSONConfig config for Stringifying.
 	 * @param myTabs The ammount of tabs.
-	 * @return The stringified JSONArray
+	 * @param level Depth around the Value.
+	 * @return The stringified Value.
 	 */
-	public static String Stringify(List<Object> data, JSONConfig config, int myTabs) {
+	private static String string(Object obj, Object members, JSONConfig config, int myTabs, int level) {
+		
+		JSONCache cache = config.cache() && members == null ? JSONCache.of(obj, true) : null;
+		String text = cache == null ? null : cache.text(config, myTabs);
+		if (text != null) return text; //Unchanged since stringified.
+		
+		StringBuilder str = new StringBuilder();
+		try {
+			new JSONStringify().append(obj, members, str, null, config, myTabs, level);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); //Never, nothing is written but the StringBuilder.
+		};
+		if (cache != null) text = cache.text(config, myTabs);
+		return text != null ? text : str.toString();
+		
+	};
+	
+	/**
+	 * Stringify a Value into UTF-8 bytes.
+	 * 
+	 * @param obj To be stringified.
+	 * @param config JSONConfig config for Stringifying.
+	 * @return The stringified Value as a new byte array.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	public static byte[] toBytes(Object obj, JSONConfig config) {
 		
-		if (data.isEmpty()) return "[]";
 		if (config == null) config = new JSONConfig();
 		
-		StringBuilder str = new StringBuilder("[");
-		myTabs++;
+		String text = string(obj, null, config, 0, 0);
+		JSONCache cache = config.cache() ? JSONCache.of(obj, false) : null;
+		byte[] bytes = cache == null ? null : cache.bytes(config, 0);
+		return bytes != null ? bytes.clone() : text.getBytes(StandardCharsets.UTF_8);
 		
-		List<Unloader> unloaders = new ArrayList<Unloader>();
-		for (int i = 0; i < data.size(); i++) {
-			
-			Unloader unloader = new Unloader(null, data.get(i), config, myTabs);
-			unloaders.add(unloader);
+	};
+	
+	/**
+	 * Stringify a Value into a StringBuilder,<br>
+	 * nested JSONObject's &amp; JSONArray's are kept on a stack instead of the Java stack.<br>
+	 * Close to the root, big members are stringified in parallel when Threading is enabled.<br>
+	 * When caching without a Appendable, unchanged JSONObject's &amp; JSONArray's are copied from their JSONCache.
+	 * 
+	 * @param obj The Value, ignored when members is given.
+	 * @param members The Map or List of the Value, or {@code null}.
+	 * @param str The StringBuilder to append to.
+	 * @param out Appendable the StringBuilder is flushed to when full, or {@code null} to keep everything.
+	 * @param config JSONConfig config for Stringifying.
+	 * @param myTabs The ammount of tabs.
+	 * @param level Depth around the Value, for the members stringified in parallel.
+	 * @throws IOException When writing to the Appendable fails.
+	 * @throws IllegalStateException When deeper than the maxDepth of the config.
+	 */
+	void append(Object obj, Object members, StringBuilder str, Appendable out, JSONConfig config, int myTabs, int level) throws IOException {
+		
+		boolean caching = out == null && !uncached && config.cache();
+		int depth = 0;
+		try {
 			
-			if (config.threaded()) {
+			while (true) {
 				
-				unloader.start();
+				if (out != null && str.length() >= FLUSH_SIZE) flush(str, out);
+				JSONCache cache = caching && members == null ? JSONCache.of(obj, true) : null;
+				if (cache != null && depth > 0 && stack[depth-1].cache != null) cache.link(stack[depth-1].cache);
+				String text = cache == null ? null : cache.text(config, myTabs + depth);
+				if (text == null && members == null) members = members(obj, config);
+				int start = str.length();
 				
-			} else {
+				if (text != null) {
+					
+					str.append(text); //Unchanged since stringified, copy it.
+					
+				} else if (members == null) {
+					
+					if (caching && depth > 0 && !JSONCache.cacheable(obj)) stack[depth-1].cacheable = false; //Could change unnoticed.
+					value(obj, str, config);
+					
+				} else if (members instanceof String) {
+					
+					str.append((String) members); //Not used yet, copy the original.
+					if (cache != null) cache.store(config, (String) members);
+					
+				} else if (members instanceof Map ? ((Map<?, ?>) members).isEmpty() : ((List<?>) members).isEmpty()) {
+					
+					str.append(members instanceof Map ? "{}" : "[]");
+					if (cache != null) cache.store(config, myTabs + depth, str, start, level + depth == 0);
+					
+				} else {
+					
+					if (level + depth >= config.maxDepth()) throw new IllegalStateException("Deeper than " + config.maxDepth() + " levels");
+					if (stack == null) {
+						stack = new Frame[16];
+					} else if (depth == stack.length) {
+						stack = Arrays.copyOf(stack, depth << 1);
+					};
+					Frame frame = stack[depth];
+					if (frame == null) frame = stack[depth] = new Frame();
+					depth++;
+					
+					frame.open(members);
+					frame.cache = cache;
+					frame.cacheable = cache != null;
+					frame.start = start;
+					if (config.threaded() && level + depth <= PARALLEL_DEPTH) {
+						//Members of a small JSONObject or JSONArray are small too, don't estimate them again.
+						frame.small = depth > 1 && stack[depth-2].small;
+						if (!frame.small) split(frame, config);
+					};
+					str.append(frame.object ? '{' : '[');
+					
+				};
+				members = null;
 				
-				unloader.run();
+				//The next member, closing the JSONObject's & JSONArray's ending here.
+				obj = null;
+				while (depth > 0) {
+					
+					Frame frame = stack[depth-1];
+					int i = frame.index;
+					if (i == frame.size) {
+						
+						if (config.tabs()) config.indentation().append(str, myTabs + depth - 1);
+						str.append(frame.object ? '}' : ']');
+						if (frame.cacheable) {
+							frame.cache.store(config, myTabs + depth - 1, str, frame.start, level + depth == 1);
+						} else if (caching && depth > 1) {
+							stack[depth-2].cacheable = false;
+						};
+						frame.close();
+						depth--;
+						continue;
+						
+					};
+					
+					if (frame.segments != null) {
+						int k = frame.segment++;
+						int slot = k % frame.segments.length;
+						if (slot == 0) round(frame, k, out instanceof JSONEncoder, config, myTabs + depth, level + depth);
+						Segment segment = frame.segments[slot];
+						frame.segments[slot] = null;
+						frame.index = frame.ends[k];
+						stitch(segment, str, out);
+						if (!segment.cacheable) frame.cacheable = false;
+						continue;
+					};
+					frame.index++;
+					
+					member(frame, i, str, config, myTabs + depth);
+					obj = frame.values[i];
+					break;
+					
+				};
+				if (depth == 0) return;
 				
-			};
+			}
 			
-		};
+		} finally {
+			while (depth > 0) stack[--depth].close(); //Failed, let go of the Values.
+			if (stack != null && stack.length > KEEP_DEPTH) stack = null;
+		}
 		
-		while (true) { //In order
-			
-			boolean allReady = true;
-			for (Unloader unloader : unloaders) {
-				
-				if (!unloader.isReady()) allReady = false;
-				
+	};
+	
+	/**
+	 * Write the buffered characters to the Appendable &amp; empty the buffer.
+	 * 
+	 * @param str The buffer.
+	 * @param out Appendable to write to.
+	 * @throws IOException When writing fails.
+	 */
+	private void flush(StringBuilder str, Appendable out) throws IOException {
+		
+		int length = str.length();
+		if (out instanceof Writer) {
+			if (chars == null) chars = new char[FLUSH_SIZE];
+			for (int i = 0; i < length; i += chars.length) {
+				int end = Math.min(length, i + chars.length);
+				str.getChars(i, end, chars, 0);
+				((Writer) out).write(chars, 0, end - i);
 			};
-			if (allReady) break;
-			
+		} else {
+			out.append(str, 0, length);
 		};
-		
-		for (int i = 0; i < unloaders.size(); i++) {
-			
-			if (config.tabs()) str.append("\n").append(JSONUtils.tabs(myTabs));
-			
-			str.append(unloaders.get(i).getStringified());
-			
-			if (i < data.size()-1) str.append(",");
-			
-		};
-		
-		myTabs--;
-		if (config.tabs()) str.append("\n").append(JSONUtils.tabs(myTabs));
-		return str.append("]").toString();
+		str.setLength(0);
 		
 	};
 	
-	private static class Unloader extends Thread {
+	/**
+	 * Get the members of a JSONObject or JSONArray.
+	 * 
+	 * @param obj The Value.
+	 * @param config JSONConfig config for Stringifying.
+	 * @return The Map or List, the original String of a lazy one, {@code null} When not a JSONObject or JSONArray.
+	 */
+	private static Object members(Object obj, JSONConfig config) {
 		
-		private String key;
-		private Object value;
+		if (obj instanceof JSONObject) return ((JSONObject) obj)._members(config);
+		if (obj instanceof JSONArray) return ((JSONArray) obj)._members(config);
+		return null;
 		
-		private JSONConfig config;
-		private int myTabs;
+	};
+	
+	/**
+	 * Append the separator, tabs &amp; key in front of a member.
+	 * 
+	 * @param frame The JSONObject or JSONArray.
+	 * @param i Index of the member.
+	 * @param str The StringBuilder to append to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @param myTabs The ammount of tabs of the member.
+	 */
+	private static void member(Frame frame, int i, StringBuilder str, JSONConfig config, int myTabs) {
 		
-		private String stringified;
-		private boolean ready;
+		if (i > 0) str.append(",");
+		if (config.tabs()) config.indentation().append(str, myTabs);
 		
-		public Unloader(String key, Object value, JSONConfig config, int myTabs) {
-			
-			this.key = key;
-			this.value = value;
-			
-			this.config = config;
-			this.myTabs = myTabs;
-			
-			this.stringified = null;
-			this.ready = false;
-			
+		if (frame.object) {
+			str.append("\"");
+			JSONUtils.escape(frame.keys[i], str);
+			str.append("\":");
 		};
 		
-		public String getKey() {
-			
-			return this.key;
-			
+	};
+	
+	/**
+	 * Append a Segment in order, characters are appended or written,<br>
+	 * encoded chunks are handed to the JSONEncoder as they are.
+	 * 
+	 * @param segment The Segment.
+	 * @param str The StringBuilder to append to.
+	 * @param out Appendable the StringBuilder is flushed to, or {@code null}.
+	 * @throws IOException When writing to the Appendable fails.
+	 */
+	private void stitch(Segment segment, StringBuilder str, Appendable out) throws IOException {
+		
+		if (segment.bytes != null) {
+			flush(str, out);
+			((JSONEncoder) out).write(segment.bytes);
+		} else if (out == null) {
+			str.append(segment.chars);
+		} else {
+			flush(str, out);
+			flush(segment.chars, out);
 		};
 		
-		public String getStringified() {
-			
-			return this.stringified;
-			
+	};
+	
+	/**
+	 * Split the members of a JSONObject or JSONArray into Segments,<br>
+	 * only when their estimated size is big enough to stringify in parallel.<br>
+	 * Segments are contiguous members of at least the threshold, they are stringified in rounds when written.
+	 * 
+	 * @param frame The JSONObject or JSONArray.
+	 * @param config JSONConfig config for Stringifying.
+	 */
+	private static void split(Frame frame, JSONConfig config) {
+		
+		int size = frame.size;
+		if (size < 2) return;
+		
+		long[] costs = new long[size];
+		long total = 0;
+		for (int i = 0; i < size; i++) {
+			costs[i] = estimate(frame.values[i], config, ESTIMATE_DEPTH) + (frame.object ? frame.keys[i].length() + 4 : 1);
+			total += costs[i];
+		};
+		if (total < config.threshold()) { //Too small to split.
+			frame.small = true;
+			return;
 		};
 		
-		public boolean isReady() {
-			
-			return this.ready;
-			
+		//Enough Segments for a round, not so big a round keeps the whole document.
+		long target = Math.max(config.threshold(), Math.min(total / ROUND_SIZE, SEGMENT_SIZE));
+		int count = 0;
+		int[] ends = new int[16];
+		int[] sizes = new int[16];
+		long sum = 0;
+		for (int i = 0; i < size; i++) {
+			sum += costs[i];
+			if (sum < target && i < size - 1) continue;
+			if (count == ends.length) {
+				ends = Arrays.copyOf(ends, count << 1);
+				sizes = Arrays.copyOf(sizes, count << 1);
+			};
+			ends[count] = i + 1;
+			sizes[count++] = (int) Math.min(sum, Integer.MAX_VALUE);
+			sum = 0;
 		};
+		if (count < 2) return; //A single big member, only it's members can be split.
 		
-		@Override
-		public void run() {
-			
-			this.stringified = Stringify(this.value, this.config, this.myTabs);
-			this.ready = true;
-			
+		frame.ends = ends;
+		frame.sizes = sizes;
+		frame.count = count;
+		frame.segments = new Segment[Math.min(count, ROUND_SIZE)];
+		
+	};
+	
+	/**
+	 * Stringify the next round of Segments in parallel.
+	 * 
+	 * @param frame The JSONObject or JSONArray.
+	 * @param first Index of the first Segment of the round.
+	 * @param encode Encode the Segments as UTF-8, for a JSONEncoder.
+	 * @param config JSONConfig config for Stringifying.
+	 * @param myTabs The ammount of tabs of the members.
+	 * @param level Depth of the JSONObject or JSONArray.
+	 * @throws IOException Never, a Segment is only written to it's own buffers.
+	 */
+	private static void round(Frame frame, int first, boolean encode, JSONConfig config, int myTabs, int level) throws IOException {
+		
+		Segment[] segments = frame.segments;
+		int[] ends = frame.ends;
+		int[] sizes = Arrays.copyOfRange(frame.sizes, first, first + Math.min(segments.length, frame.count - first));
+		JSONTasks.run(config, sizes, k -> {
+			int i = first + k;
+			segments[k] = new Segment(frame, i == 0 ? 0 : ends[i-1], ends[i], sizes[k], encode, config, myTabs, level);
+		});
+		
+	};
+	
+	/**
+	 * Rough size of a stringified Value, without stringifying it.<br>
+	 * The members of a JSONObject or JSONArray are sampled a few levels deep.
+	 * 
+	 * @param obj The Value.
+	 * @param config JSONConfig config for Stringifying.
+	 * @param depth Levels left to sample.
+	 * @return Estimated size in characters.
+	 */
+	private static long estimate(Object obj, JSONConfig config, int depth) {
+		
+		if (obj instanceof String) return ((String) obj).length() + 2;
+		if (obj instanceof JSONObject && !((JSONObject) obj).isParsed()) return 8; //Lazy, size unknown until parsed.
+		if (obj instanceof JSONArray && !((JSONArray) obj).isParsed()) return 8;
+		
+		Object members = members(obj, config);
+		if (members == null) return 8;
+		if (members instanceof String) return ((String) members).length();
+		
+		if (members instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) members;
+			int size = map.size();
+			if (size == 0) return 2;
+			if (depth == 0) return size * 16L;
+			long sampled = 0;
+			int count = 0;
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				sampled += ((String) entry.getKey()).length() + 4 + estimate(entry.getValue(), config, depth - 1);
+				if (++count == SAMPLES) break;
+			};
+			return sampled * size / count + 2;
 		};
 		
+		List<?> list = (List<?>) members;
+		int size = list.size();
+		if (size == 0) return 2;
+		if (depth == 0) return size * 8L;
+		int count = Math.min(size, SAMPLES);
+		long sampled = 0;
+		for (int i = 0; i < count; i++) sampled += estimate(list.get((int) ((long) i * size / count)), config, depth - 1) + 1;
+		return sampled * size / count + 2;
+		
 	};
 	
 	/**
@@ -227,37 +580,69 @@ public class JSONStringify {
 		
 		if (config == null) config = new JSONConfig();
 		
-		//Null
-		if (obj == null) return "null";
+		return string(obj, null, config, myTabs, 0);
 		
-		//String
-		if (obj instanceof String) return new StringBuilder("\"").append(JSONUtils.escape((String) obj)).append("\"").toString();
+	};
+	
+	/**
+	 * Append a Value that is not a JSONObject or JSONArray.
+	 * 
+	 * @param obj To be stringified.
+	 * @param str The StringBuilder to append to.
+	 * @param config JSONConfig config for Stringifying.
+	 * @throws IOException Never, only a StringBuilder is appended to.
+	 */
+	private static void value(Object obj, StringBuilder str, JSONConfig config) throws IOException {
 		
-		//Object
-		if (obj instanceof JSONObject) return ((JSONObject) obj)._stringify(config, myTabs);
+		//Null
+		if (obj == null) {
+			str.append("null");
+			return;
+		};
 		
-		//Array
-		if (obj instanceof JSONArray) return ((JSONArray) obj)._stringify(config, myTabs);
+		//String
+		if (obj instanceof String) {
+			str.append("\"");
+			JSONUtils.escape((String) obj, str);
+			str.append("\"");
+			return;
+		};
 		
 		//Boolean
-		if (obj instanceof Boolean) return obj.toString();
+		if (obj instanceof Boolean) {
+			str.append((boolean) obj);
+			return;
+		};
 		
 		boolean suffix = config.suffix();
 		
 		//Numbers
 			
 			//Integer
-			if (obj instanceof Integer) return new StringBuilder(Integer.toString((int) obj)).append(suffix ? "I" : "").toString();
+			if (obj instanceof Integer) {
+				str.append((int) obj);
+				if (suffix) str.append("I");
+				return;
+			};
 			
 			//Long
-			if (obj instanceof Long) return new StringBuilder(Long.toString((long) obj)).append(suffix ? "L" : "").toString();
+			if (obj instanceof Long) {
+				str.append((long) obj);
+				if (suffix) str.append("L");
+				return;
+			};
 			
 			//Double
 			if (obj instanceof Double) {
 				
 				double dob = (double) obj;
-				if (!Double.isFinite(dob)) return "null";
-				return new StringBuilder(Double.toString(dob)).append(suffix ? "D" : "").toString();
+				if (!Double.isFinite(dob)) {
+					str.append("null");
+					return;
+				};
+				JSONNumbers.append(str, dob);
+				if (suffix) str.append("D");
+				return;
 				
 			};
 			
@@ -265,29 +650,168 @@ public class JSONStringify {
 			if (obj instanceof Float) {
 				
 				float flo = (float) obj;
-				if (!Float.isFinite(flo)) return "null";
-				return new StringBuilder(Float.toString(flo)).append(suffix ? "F" : "").toString();
+				if (!Float.isFinite(flo)) {
+					str.append("null");
+					return;
+				};
+				JSONNumbers.append(str, flo);
+				if (suffix) str.append("F");
+				return;
 				
 			};
 		
 		//Object
 		Class<?> cls = obj.getClass();
-		try {
+		MethodHandle toJSON = JSONBindings.toJSON(cls);
+		JSONObject json = null;
+		if (toJSON != null) try {
 			
-			Method method = cls.getMethod("toJSON");
-			Object ret = method.invoke(obj);
-			if (ret instanceof JSONObject) {
-				JSONObject json = (JSONObject) ret;
-				if (config.className()) json.put("__class", cls.getName());
-				return ((JSONObject) ret).stringify(config);
-			};
+			Object ret = toJSON.invokeExact(obj);
+			if (ret instanceof JSONObject) json = (JSONObject) ret;
 			
-		} catch (NoSuchMethodException ignore) {
-		} catch (Exception e) {
+		} catch (Throwable e) {
 			e.printStackTrace();
 		};
 		
-		return new StringBuilder("\"").append(JSONUtils.escape(obj.toString())).append("\"").toString();
+		if (json != null) {
+			if (config.className()) json.put("__class", cls.getName());
+			JSONStringify custom = new JSONStringify();
+			custom.uncached = true;
+			custom.append(json, null, str, null, config, 0, 0); //Tabs start over, like stringify(config).
+			return;
+		};
+		
+		str.append("\"");
+		JSONUtils.escape(obj.toString(), str);
+		str.append("\"");
+		
+	};
+	
+	/**
+	 * Stringified members of a JSONObject or JSONArray, from &amp; to a index,<br>
+	 * in it's own buffer so it can be written by another Thread.<br>
+	 * Encoded Segments keep the chunks of their JSONEncoder, so they are written without copying.
+	 */
+	private static final class Segment {
+		
+		private final StringBuilder chars;
+		private final List<ByteBuffer> bytes;
+		private final boolean cacheable; //Every member can be kept in the JSONCache of the Frame.
+		
+		private Segment(Frame frame, int from, int to, int size, boolean encode, JSONConfig config, int myTabs, int level) throws IOException {
+			
+			JSONStringify stringify = new JSONStringify();
+			JSONEncoder encoder = encode ? new JSONEncoder(Math.min(size + 16, FLUSH_SIZE)).toChunks() : null;
+			StringBuilder str = new StringBuilder(encode ? FLUSH_SIZE + 256 : Math.max(size, 16));
+			boolean cacheable = true;
+			for (int i = from; i < to; i++) {
+				Object value = frame.values[i];
+				member(frame, i, str, config, myTabs);
+				stringify.append(value, null, str, encoder, config, myTabs, level);
+				if (frame.cache == null) continue;
+				
+				//Stringified on it's own, link it to the Frame like a nested member.
+				JSONCache cache = JSONCache.of(value, false);
+				if (cache != null) {
+					cache.link(frame.cache);
+					if (!cache.valid()) cacheable = false;
+				} else if (!JSONCache.cacheable(value)) {
+					cacheable = false;
+				};
+			};
+			this.cacheable = cacheable;
+			
+			if (encoder == null) {
+				this.chars = str;
+				this.bytes = null;
+			} else {
+				stringify.flush(str, encoder);
+				this.chars = null;
+				this.bytes = encoder.chunks();
+			};
+			
+		};
+		
+	};
+	
+	/**
+	 * A open JSONObject or JSONArray,<br>
+	 * it's arrays are reused for the next one at the same depth.
+	 */
+	private static class Frame {
+		
+		private static final int KEEP_SIZE = 4096; //Bigger arrays are not kept after closing.
+		
+		private boolean object;
+		private String[] keys = new String[8];
+		private Object[] values = new Object[8];
+		private int size;
+		private Segment[] segments; //Round of members stringified in parallel.
+		private int[] ends; //End of every Segment.
+		private int[] sizes; //Estimated size of every Segment.
+		private int count;
+		private int segment;
+		private boolean small; //Too small to split.
+		private int index;
+		private JSONCache cache; //Of the JSONObject or JSONArray, when caching.
+		private boolean cacheable; //No member could change unnoticed.
+		private int start; //Position of the JSONObject or JSONArray in the StringBuilder.
+		
+		@SuppressWarnings("unchecked")
+		private void open(Object members) {
+			
+			index = 0;
+			segments = null;
+			ends = null;
+			sizes = null;
+			segment = 0;
+			
+			if (members instanceof Map) {
+				Map<String, Object> map = (Map<String, Object>) members;
+				object = true;
+				size = map.size();
+				ensure(size);
+				int i = 0;
+				for (Map.Entry<String, Object> entry : map.entrySet()) {
+					keys[i] = entry.getKey();
+					values[i++] = entry.getValue();
+				};
+			} else {
+				List<Object> list = (List<Object>) members;
+				object = false;
+				size = list.size();
+				ensure(size);
+				int i = 0;
+				for (Object value : list) values[i++] = value;
+			};
+			
+		};
+		
+		private void ensure(int size) {
+			
+			if (size <= values.length) return;
+			int length = Math.max(size, values.length << 1);
+			keys = new String[length];
+			values = new Object[length];
+			
+		};
+		
+		private void close() {
+			
+			if (values.length > KEEP_SIZE) {
+				keys = new String[8];
+				values = new Object[8];
+			} else {
+				Arrays.fill(values, 0, size, null);
+				if (object) Arrays.fill(keys, 0, size, null);
+			};
+			size = 0;
+			segments = null;
+			ends = null;
+			sizes = null;
+			cache = null;
+			
+		};
 		
 	};
 	
@@ -0,0 +1,262 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the members of a JSONObject or JSONArray in parallel,<br>
+ * using the JSONExecution of the JSONConfig.<br>
+ * <br>
+ * Members are split into parts of at least the threshold,<br>
+ * each part is then handled by one Thread in order.
+ */
+final class JSONTasks {
+	
+	private JSONTasks() {};
+	
+	/**
+	 * Work for a single member.
+	 * 
+	 * @param <E> Exception thrown by the work.
+	 */
+	interface Job<E extends Exception> {
+		
+		/**
+		 * Handle a member.
+		 * 
+		 * @param i Index of the member.
+		 * @throws E When the work fails.
+		 */
+		void run(int i) throws E;
+		
+	};
+	
+	/**
+	 * Run a Job for every member &amp; wait until all are done.
+	 * 
+	 * @param <E> Exception thrown by the Job.
+	 * @param config JSONConfig with the JSONExecution &amp; threshold.
+	 * @param sizes The size of every member.
+	 * @param job The Job to run.
+	 * @throws E The first failure of the Job.
+	 */
+	static <E extends Exception> void run(JSONConfig config, int[] sizes, Job<E> job) throws E {
+		
+		long[] offsets = new long[sizes.length + 1];
+		for (int i = 0; i < sizes.length; i++) offsets[i+1] = offsets[i] + sizes[i];
+		
+		JSONExecution execution = config.execution();
+		if (execution == JSONExecution.INLINE || sizes.length < 2 || offsets[sizes.length] < config.threshold()) {
+			for (int i = 0; i < sizes.length; i++) job.run(i); //Too small to split.
+			return;
+		};
+		
+		Executor executor = null;
+		if (execution == JSONExecution.VIRTUAL_THREADS) executor = VirtualThreads.EXECUTOR;
+		if (execution == JSONExecution.EXECUTOR) executor = config.executor();
+		
+		if (executor == null) {
+			fork(config.pool(), offsets, config.threshold(), job);
+		} else {
+			execute(executor, offsets, config.threshold(), job);
+		};
+		
+	};
+	
+	@SuppressWarnings("unchecked")
+	private static <E extends Exception> void fork(ForkJoinPool pool, long[] offsets, int threshold, Job<E> job) throws E {
+		
+		Split task = new Split(job, offsets, threshold, 0, offsets.length - 1);
+		try {
+			
+			if (ForkJoinTask.getPool() == pool) {
+				task.invoke(); //Already inside the pool, join without blocking a worker.
+			} else {
+				pool.invoke(task);
+			};
+			
+		} catch (RuntimeException e) {
+			
+			//The pool may wrap the Failure when it was thrown by another Thread.
+			for (Throwable t = e; t != null; t = t.getCause()) {
+				if (t instanceof Failure) throw (E) t.getCause();
+			};
+			throw e;
+			
+		};
+		
+	};
+	
+	@SuppressWarnings("unchecked")
+	private static <E extends Exception> void execute(Executor executor, long[] offsets, int threshold, Job<E> job) throws E {
+		
+		List<Part> parts = new ArrayList<Part>();
+		int from = 0;
+		for (int i = 1; i < offsets.length; i++) {
+			if (i < offsets.length - 1 && offsets[i] - offsets[from] < threshold) continue;
+			parts.add(new Part(job, from, i));
+			from = i;
+		};
+		
+		for (int i = 1; i < parts.size(); i++) {
+			try {
+				executor.execute(parts.get(i));
+			} catch (RejectedExecutionException ignore) {}; //Run by this Thread below.
+		};
+		
+		//Run every part not yet started, so waiting never depends on a free Thread.
+		for (Part part : parts) part.run();
+		for (Part part : parts) part.await();
+		
+		for (Part part : parts) {
+			Throwable e = part.failure;
+			if (e == null) continue;
+			if (e instanceof RuntimeException) throw (RuntimeException) e;
+			if (e instanceof Error) throw (Error) e;
+			throw (E) e;
+		};
+		
+	};
+	
+	private static class Split extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final Job<?> job;
+		private final long[] offsets;
+		private final int threshold;
+		private final int from;
+		private final int to;
+		
+		public Split(Job<?> job, long[] offsets, int threshold, int from, int to) {
+			
+			this.job = job;
+			this.offsets = offsets;
+			this.threshold = threshold;
+			this.from = from;
+			this.to = to;
+			
+		};
+		
+		@Override
+		protected void compute() {
+			
+			if (to - from > 1 && offsets[to] - offsets[from] >= threshold) {
+				
+				int mid = (from + to) >>> 1;
+				invokeAll(new Split(job, offsets, threshold, from, mid), new Split(job, offsets, threshold, mid, to));
+				return;
+				
+			};
+			
+			try {
+				
+				for (int i = from; i < to; i++) job.run(i);
+				
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new Failure(e);
+			};
+			
+		};
+		
+	};
+	
+	/**
+	 * Part of the members, run once by whichever Thread claims it first.
+	 */
+	private static class Part implements Runnable {
+		
+		private final Job<?> job;
+		private final int from;
+		private final int to;
+		
+		private final AtomicBoolean claimed;
+		private final CountDownLatch done;
+		private volatile Throwable failure;
+		
+		public Part(Job<?> job, int from, int to) {
+			
+			this.job = job;
+			this.from = from;
+			this.to = to;
+			
+			this.claimed = new AtomicBoolean();
+			this.done = new CountDownLatch(1);
+			this.failure = null;
+			
+		};
+		
+		@Override
+		public void run() {
+			
+			if (!claimed.compareAndSet(false, true)) return;
+			try {
+				for (int i = from; i < to; i++) job.run(i);
+			} catch (Throwable e) {
+				failure = e;
+			} finally {
+				done.countDown();
+			};
+			
+		};
+		
+		public void await() {
+			
+			boolean interrupted = false;
+			while (true) {
+				try {
+					done.await();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				};
+			};
+			if (interrupted) Thread.currentThread().interrupt();
+			
+		};
+		
+	};
+	
+	private static class Failure extends RuntimeException {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private Failure(Exception e) {
+			
+			super(e);
+			
+		};
+		
+	};
+	
+	/**
+	 * Executor starting a virtual Thread per task,<br>
+	 * {@code null} before Java 21.
+	 */
+	private static class VirtualThreads {
+		
+		private static final Executor EXECUTOR = create();
+		
+		private static Executor create() {
+			
+			try {
+				return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			} catch (Exception e) {
+				return null; //Falls back to the ForkJoinPool.
+			}
+			
+		};
+		
+	};
+	
+};
\ No newline at end of file
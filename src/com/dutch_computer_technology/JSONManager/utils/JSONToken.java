@@ -0,0 +1,58 @@
+package com.dutch_computer_technology.JSONManager.utils;
+
+/**
+ * Tokens returned by the JSONReader
+ */
+public enum JSONToken {
+	
+	/**
+	 * Opening { of a JSONObject
+	 */
+	BEGIN_OBJECT,
+	
+	/**
+	 * Closing } of a JSONObject
+	 */
+	END_OBJECT,
+	
+	/**
+	 * Opening [ of a JSONArray
+	 */
+	BEGIN_ARRAY,
+	
+	/**
+	 * Closing ] of a JSONArray
+	 */
+	END_ARRAY,
+	
+	/**
+	 * Key of a JSONObject member
+	 */
+	NAME,
+	
+	/**
+	 * String value
+	 */
+	STRING,
+	
+	/**
+	 * Number value, with or without suffix
+	 */
+	NUMBER,
+	
+	/**
+	 * true or false
+	 */
+	BOOLEAN,
+	
+	/**
+	 * null
+	 */
+	NULL,
+	
+	/**
+	 * End of the input
+	 */
+	END_DOCUMENT;
+	
+};
\ No newline at end of file
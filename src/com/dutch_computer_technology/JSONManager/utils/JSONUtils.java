@@ -1,5 +1,10 @@
 package com.dutch_computer_technology.JSONManager.utils;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import com.dutch_computer_technology.JSONManager.exception.JSONParseException;
+
 /**
  * Utils &amp; Settings
  */
@@ -10,10 +15,17 @@ public class JSONUtils {
 	 */
 	public JSONUtils() {};
 	
-	private static boolean threaded = false;
 	private static boolean suffix = false;
 	private static boolean tabs = false;
+	private static String indent = "\t";
 	private static boolean className = true;
+	private static ForkJoinPool pool = ForkJoinPool.commonPool();
+	private static int threshold = 16384;
+	private static JSONExecution execution = JSONExecution.INLINE;
+	private static Executor executor = null;
+	private static boolean lazy = false;
+	private static boolean cache = false;
+	private static int maxDepth = 10000;
 	
 	/**
 	 * Returns the current version of the JSONManager
@@ -27,13 +39,18 @@ public class JSONUtils {
 	};
 	
 	/**
-	 * Enable/Disable Threading for Parsing/Stringifying JSON
+	 * Enable/Disable Threading for Parsing/Stringifying JSON,<br>
+	 * enabling uses {@link JSONExecution#FORK_JOIN} unless another execution is set.
 	 * 
 	 * @param threaded {@code true}/{@code false}
 	 */
 	public static void threaded(boolean threaded) {
 		
-		JSONUtils.threaded = threaded;
+		if (!threaded) {
+			execution = JSONExecution.INLINE;
+		} else if (execution == JSONExecution.INLINE) {
+			execution = JSONExecution.FORK_JOIN;
+		};
 		
 	};
 	
@@ -44,7 +61,98 @@ public class JSONUtils {
 	 */
 	public static boolean threaded() {
 		
-		return threaded;
+		return execution != JSONExecution.INLINE;
+		
+	};
+	
+	/**
+	 * Set how members are Parsed/Stringified
+	 * 
+	 * @param execution The JSONExecution, {@code null} for {@link JSONExecution#INLINE}.
+	 */
+	public static void execution(JSONExecution execution) {
+		
+		JSONUtils.execution = execution == null ? JSONExecution.INLINE : execution;
+		
+	};
+	
+	/**
+	 * Get how members are Parsed/Stringified
+	 * 
+	 * @return The JSONExecution.
+	 */
+	public static JSONExecution execution() {
+		
+		return JSONUtils.execution;
+		
+	};
+	
+	/**
+	 * Set the Executor for {@link JSONExecution#EXECUTOR},<br>
+	 * also selects {@link JSONExecution#EXECUTOR} when not {@code null}.
+	 * 
+	 * @param executor The Executor.
+	 */
+	public static void executor(Executor executor) {
+		
+		JSONUtils.executor = executor;
+		if (executor != null) JSONUtils.execution = JSONExecution.EXECUTOR;
+		
+	};
+	
+	/**
+	 * Get the Executor for {@link JSONExecution#EXECUTOR}
+	 * 
+	 * @return The Executor, {@code null} when not set.
+	 */
+	public static Executor executor() {
+		
+		return JSONUtils.executor;
+		
+	};
+	
+	/**
+	 * Set the ForkJoinPool used for {@link JSONExecution#FORK_JOIN}
+	 * 
+	 * @param pool The ForkJoinPool, {@code null} for the common pool.
+	 */
+	public static void pool(ForkJoinPool pool) {
+		
+		JSONUtils.pool = pool == null ? ForkJoinPool.commonPool() : pool;
+		
+	};
+	
+	/**
+	 * Get the ForkJoinPool used for {@link JSONExecution#FORK_JOIN}
+	 * 
+	 * @return The ForkJoinPool, the common pool by default.
+	 */
+	public static ForkJoinPool pool() {
+		
+		return pool;
+		
+	};
+	
+	/**
+	 * Set the minimum size of a JSONObject/JSONArray before it's members are split over Threads,<br>
+	 * smaller ones are handled on the current Thread.
+	 * 
+	 * @param threshold Size in characters.
+	 */
+	public static void threshold(int threshold) {
+		
+		JSONUtils.threshold = Math.max(threshold, 0);
+		
+	};
+	
+	/**
+	 * Get the minimum size of a JSONObject/JSONArray before it's members are split over Threads
+	 * 
+	 * @return Size in characters.
+	 */
+	public static int threshold() {
+		
+		return threshold;
 		
 	};
 	
@@ -92,6 +200,29 @@ public class JSONUtils {
 		
 	};
 	
+	/**
+	 * Set the indent unit added per level when tabs are added, like a tab or 2 spaces
+	 * 
+	 * @param indent Tabs &amp; spaces, {@code null} for a tab.
+	 * @throws IllegalArgumentException When it contains anything else.
+	 */
+	public static void indent(String indent) {
+		
+		JSONUtils.indent = JSONIndent.check(indent);
+		
+	};
+	
+	/**
+	 * Get the indent unit added per level when tabs are added
+	 * 
+	 * @return The indent unit.
+	 */
+	public static String indent() {
+		
+		return indent;
+		
+	};
+	
 	/**
 	 * Returns ammount of tabs
 	 * 
@@ -130,6 +261,76 @@ public class JSONUtils {
 		
 	};
 	
+	/**
+	 * Parse nested JSONObject's &amp; JSONArray's on first use,<br>
+	 * until then only their position is kept.<br>
+	 * Custom classes are not created for them, also not once used.
+	 * 
+	 * @param lazy {@code true}/{@code false}
+	 */
+	public static void lazy(boolean lazy) {
+		
+		JSONUtils.lazy = lazy;
+		
+	};
+	
+	/**
+	 * Get if nested JSONObject's &amp; JSONArray's are parsed on first use
+	 * 
+	 * @return {@code true} When parsed on first use, {@code false} When parsed right away.
+	 */
+	public static boolean lazy() {
+		
+		return lazy;
+		
+	};
+	
+	/**
+	 * Keep the stringified form of JSONObject's &amp; JSONArray's between stringifies,<br>
+	 * unchanged ones are copied instead of stringified again, until they or a member change.
+	 * 
+	 * @param cache {@code true}/{@code false}
+	 */
+	public static void cache(boolean cache) {
+		
+		JSONUtils.cache = cache;
+		
+	};
+	
+	/**
+	 * Get if the stringified form of JSONObject's &amp; JSONArray's is kept
+	 * 
+	 * @return {@code true} When kept between stringifies, {@code false} When stringified every time.
+	 */
+	public static boolean cache() {
+		
+		return cache;
+		
+	};
+	
+	/**
+	 * Set the maximum depth of nested JSONObject's &amp; JSONArray's,<br>
+	 * deeper ones fail to parse or stringify instead of running out of memory.
+	 * 
+	 * @param maxDepth Ammount of levels, the root is level 1.
+	 */
+	public static void maxDepth(int maxDepth) {
+		
+		JSONUtils.maxDepth = Math.max(maxDepth, 1);
+		
+	};
+	
+	/**
+	 * Get the maximum depth of nested JSONObject's &amp; JSONArray's
+	 * 
+	 * @return Ammount of levels, the root is level 1.
+	 */
+	public static int maxDepth() {
+		
+		return maxDepth;
+		
+	};
+	
 	/**
 	 * Remove special characters before parsing,<br>
 	 * Tabs Spaces Newlines
@@ -161,36 +362,143 @@ public class JSONUtils {
 	 * Escapes special characters for use in JSON
 	 * 
 	 * @param str String to be escaped
-	 * @return Escaped String
+	 * @return Escaped String, the same String when nothing needs escaping
 	 */
 	public static String escape(String str) {
-		str = str.replace("\\", "\\\\");
-		str = str.replace("/", "\\/");
-		str = str.replace("\"", "\\\"");
-		str = str.replace("\n", "\\n");
-		str = str.replace("\b", "\\b");
-		str = str.replace("\f", "\\f");
-		str = str.replace("\r", "\\r");
-		str = str.replace("\t", "\\t");
-		return str;
+		int i = 0;
+		while (i < str.length() && !escapes(str.charAt(i))) i++;
+		if (i == str.length()) return str; //Nothing to escape.
+		StringBuilder strOut = new StringBuilder(str.length() + 16);
+		escape(str, strOut);
+		return strOut.toString();
+	};
+	
+	/**
+	 * Escapes special characters for use in JSON,<br>
+	 * appending the escaped String in a single pass.
+	 * 
+	 * @param str String to be escaped
+	 * @param strOut StringBuilder to append to
+	 */
+	public static void escape(String str, StringBuilder strOut) {
+		int from = 0;
+		for (int i = 0; i < str.length(); i++) {
+			char chr = str.charAt(i);
+			if (!escapes(chr)) continue;
+			strOut.append(str, from, i);
+			from = i + 1;
+			switch (chr) {
+				case '\\': strOut.append("\\\\"); break;
+				case '/': strOut.append("\\/"); break;
+				case '"': strOut.append("\\\""); break;
+				case '\n': strOut.append("\\n"); break;
+				case '\b': strOut.append("\\b"); break;
+				case '\f': strOut.append("\\f"); break;
+				case '\r': strOut.append("\\r"); break;
+				case '\t': strOut.append("\\t"); break;
+				default: //Other control characters
+					strOut.append("\\u00").append(HEX[chr >> 4]).append(HEX[chr & 0xF]);
+			};
+		};
+		strOut.append(str, from, str.length());
+	};
+	
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+	
+	private static boolean escapes(char chr) {
+		return chr < 0x20 || chr == '"' || chr == '\\' || chr == '/';
 	};
 	
 	/**
 	 * Unescapes special characters after loaded from JSON
 	 * 
 	 * @param str String to be unescaped
-	 * @return Unescaped String
+	 * @return Unescaped String, the same String when there are no escapes
+	 * @throws IllegalArgumentException When a &#92;u is not followed by 4 hex digits
 	 */
 	public static String unescape(String str) {
-		str = str.replace("\\\\", "\\");
-		str = str.replace("\\/", "/");
-		str = str.replace("\\\"", "\"");
-		str = str.replace("\\n", "\n");
-		str = str.replace("\\b", "\b");
-		str = str.replace("\\f", "\f");
-		str = str.replace("\\r", "\r");
-		str = str.replace("\\t", "\t");
-		return str;
+		if (str.indexOf('\\') < 0) return str; //Nothing to unescape.
+		StringBuilder strOut = new StringBuilder(str.length());
+		unescape(str, strOut);
+		return strOut.toString();
+	};
+	
+	/**
+	 * Unescapes a parsed String or key
+	 * 
+	 * @param str String to be unescaped
+	 * @param start Position of the String, for errors
+	 * @return Unescaped String
+	 * @throws JSONParseException When a &#92;u is not followed by 4 hex digits
+	 */
+	static String unescape(String str, long start) throws JSONParseException {
+		try {
+			return unescape(str);
+		} catch (IllegalArgumentException e) {
+			throw new JSONParseException(e.getMessage() + " in String at " + start);
+		}
+	};
+	
+	/**
+	 * Unescapes special characters after loaded from JSON,<br>
+	 * appending the unescaped String in a single pass.<br>
+	 * escaped surrogate pairs become a single code point,<br>
+	 * unknown escapes are kept as is.
+	 * 
+	 * @param str String to be unescaped
+	 * @param strOut StringBuilder to append to
+	 * @throws IllegalArgumentException When a &#92;u is not followed by 4 hex digits
+	 */
+	public static void unescape(String str, StringBuilder strOut) {
+		int from = 0;
+		int i = str.indexOf('\\');
+		while (i >= 0 && i + 1 < str.length()) {
+			strOut.append(str, from, i);
+			char chr = str.charAt(i + 1);
+			from = i + 2;
+			switch (chr) {
+				case '\\': strOut.append('\\'); break;
+				case '/': strOut.append('/'); break;
+				case '"': strOut.append('"'); break;
+				case 'n': strOut.append('\n'); break;
+				case 'b': strOut.append('\b'); break;
+				case 'f': strOut.append('\f'); break;
+				case 'r': strOut.append('\r'); break;
+				case 't': strOut.append('\t'); break;
+				case 'u':
+					int code = hex(str, i + 2);
+					if (code < 0) throw new IllegalArgumentException("Not 4 hex digits at " + i);
+					strOut.append((char) code); //Surrogate pairs are appended one half at a time.
+					from = i + 6;
+					break;
+				default:
+					from = i; //Unknown escape, keep as is.
+			};
+			i = str.indexOf('\\', Math.max(from, i + 2));
+		};
+		strOut.append(str, from, str.length());
+	};
+	
+	/**
+	 * Read 4 hex digits.
+	 * 
+	 * @param str String with the digits
+	 * @param i Position of the first digit
+	 * @return The value, -1 when not 4 hex digits
+	 */
+	private static int hex(String str, int i) {
+		if (i + 4 > str.length()) return -1;
+		int code = 0;
+		for (int end = i + 4; i < end; i++) {
+			char chr = str.charAt(i);
+			int digit;
+			if (chr >= '0' && chr <= '9') digit = chr - '0';
+			else if (chr >= 'a' && chr <= 'f') digit = chr - 'a' + 10;
+			else if (chr >= 'A' && chr <= 'F') digit = chr - 'A' + 10;
+			else return -1; //Only ASCII hex digits, not the other digits of Character.digit.
+			code = code << 4 | digit;
+		};
+		return code;
 	};
 	
 };
\ No newline at end of file